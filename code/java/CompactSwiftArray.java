@@ -0,0 +1,544 @@
+/*
+ *   CompactSwiftArray.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.*;
+
+/**
+ * An array that stores its elements compressed while that saves memory.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * In {@link Mode#RUN_LENGTH} mode every run of equal elements is stored once with the index where it ends, which
+ * suits arrays made of long repeats. In {@link Mode#DICTIONARY} mode every distinct element is stored once and the
+ * array keeps bit-packed codes into the dictionary, which suits arrays with few distinct elements. When edits make the
+ * encoding larger than a plain array, the array falls back to {@link Mode#PLAIN} storage in a {@code SwiftArray}.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     CompactSwiftArray<String> array = new CompactSwiftArray<>("a", 1_000_000);
+ *     array.set(10, "b"); // splits the run into three runs
+ *     array.getMode(); // RUN_LENGTH
+ * </pre>
+ *
+ * @param <E> Element of the array
+ */
+public class CompactSwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
+
+    /**
+     * The storage mode of a {@code CompactSwiftArray}.
+     */
+    public enum Mode {
+        RUN_LENGTH, DICTIONARY, PLAIN
+    }
+
+    /**
+     * Arrays smaller than this are never checked for falling back, the encoding overhead is negligible there.
+     */
+    private static final int min_compressed_size = 64;
+
+    /**
+     * The maximum number of distinct elements in dictionary mode.
+     */
+    private static final int max_dictionary_size = 1 << 16;
+
+    private static final int default_capacity = 8;
+
+    private Mode mode;
+
+    private int size;
+
+    private transient int modCount;
+
+    /* run length storage */
+
+    private Object[] runValues;
+
+    /**
+     * {@code runEnds[r]} is the index after the last element of run {@code r}
+     */
+    private int[] runEnds;
+
+    private int runCount;
+
+    /* dictionary storage */
+
+    private SwiftArray<E> dictionary;
+
+    private HashMap<E, Integer> codes;
+
+    /**
+     * {@code codeCounts[c]} is the number of elements using code {@code c}
+     */
+    private int[] codeCounts;
+
+    private long[] packed;
+
+    private int bitsPerCode;
+
+    /* plain storage */
+
+    private SwiftArray<E> plain;
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs an empty array in run length mode.
+     */
+    public CompactSwiftArray() {
+        this(Mode.RUN_LENGTH);
+    }
+
+    /**
+     * Constructs an empty array in the specified mode.
+     *
+     * @param mode the storage mode to start with
+     * @throws NullPointerException if the specified mode is null
+     */
+    public CompactSwiftArray(Mode mode) {
+        switch (Objects.requireNonNull(mode)) {
+            case RUN_LENGTH:
+                initRunLength();
+                break;
+            case DICTIONARY:
+                initDictionary();
+                break;
+            default:
+                plain = new SwiftArray<>();
+                this.mode = Mode.PLAIN;
+        }
+    }
+
+    /**
+     * Constructs a array with {@code repeats} number of {@code item}, stored as a single run.
+     *
+     * @param item    the element to repeat
+     * @param repeats the number of the repeat item
+     * @throws RuntimeException if repeats is negative
+     */
+    public CompactSwiftArray(E item, int repeats) {
+        Utility.isAlwaysNonNegative(repeats);
+        initRunLength();
+        if (repeats > 0) {
+            runValues[0] = item;
+            runEnds[0] = repeats;
+            runCount = 1;
+            size = repeats;
+        }
+    }
+
+    /**
+     * Constructs a array containing the elements of {@code array}, in the mode that stores them in the least memory.
+     *
+     * @param array the array whose elements are to be placed into this array
+     * @throws NullPointerException if the specified array is null
+     */
+    public CompactSwiftArray(SwiftArray<E> array) {
+        int runs = 0;
+        for (int i = 0; i < array.size(); i++)
+            if (i == 0 || !Objects.equals(array.data(i), array.data(i - 1)))
+                runs++;
+        HashSet<E> distinct = new HashSet<>();
+        for (int i = 0; i < array.size() && distinct.size() <= max_dictionary_size; i++)
+            distinct.add(array.data(i));
+
+        if (runs * 4 <= array.size() || array.size() < min_compressed_size) {
+            initRunLength();
+        } else if (distinct.size() * 4 <= array.size() && distinct.size() <= max_dictionary_size) {
+            initDictionary();
+        } else {
+            plain = array.copy();
+            size = plain.size();
+            mode = Mode.PLAIN;
+            return;
+        }
+        // the mode is already chosen for the whole array, so the intermediate sizes are not checked
+        for (E element : array)
+            appendElement(element);
+    }
+
+    private void initRunLength() {
+        mode = Mode.RUN_LENGTH;
+        runValues = new Object[default_capacity];
+        runEnds = new int[default_capacity];
+        runCount = 0;
+    }
+
+    private void initDictionary() {
+        mode = Mode.DICTIONARY;
+        dictionary = new SwiftArray<>();
+        codes = new HashMap<>();
+        codeCounts = new int[default_capacity];
+        bitsPerCode = 1;
+        packed = new long[1];
+    }
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * Returns the number of elements in this array.
+     *
+     * @return the number of elements in this array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this array contains no elements.
+     *
+     * @return {@code true} if this array contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * get the current storage mode
+     *
+     * @return the storage mode of the array
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public Range range() {
+        return new Range(0, size);
+    }
+
+    /**
+     * Returns the element at the specified position in this array. In run length mode the run is found by binary
+     * search.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this array
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Utility.checkIndex(index, size);
+        switch (mode) {
+            case RUN_LENGTH:
+                return (E) runValues[runOf(index)];
+            case DICTIONARY:
+                return dictionary.data(code(index));
+            default:
+                return plain.data(index);
+        }
+    }
+
+    /**
+     * Replaces the element at the specified position in this array with the specified element. In run length mode
+     * the run is split around the index, and merged with its neighbours if they hold the same element. Splitting or
+     * merging runs changes the layout of the array, so iterators created before it throw
+     * {@code ConcurrentModificationException} on their next call.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void set(int index, E element) {
+        Utility.checkIndex(index, size);
+        switch (mode) {
+            case RUN_LENGTH:
+                setRun(index, element);
+                break;
+            case DICTIONARY:
+                int old = code(index);
+                int code = encode(element);
+                codeCounts[old]--;
+                setCode(index, code);
+                break;
+            default:
+                plain.set(index, element);
+        }
+        fallBackIfLarger();
+    }
+
+    /**
+     * Appends the specified element to the end of this array.
+     *
+     * @param element element to be appended to this array
+     */
+    public void append(E element) {
+        appendElement(element);
+        fallBackIfLarger();
+    }
+
+    private void appendElement(E element) {
+        switch (mode) {
+            case RUN_LENGTH:
+                if (runCount > 0 && Objects.equals(runValues[runCount - 1], element)) {
+                    runEnds[runCount - 1]++;
+                } else {
+                    insertRun(runCount, element, size + 1);
+                }
+                size++;
+                break;
+            case DICTIONARY:
+                int code = encode(element);
+                size++;
+                if ((long) size * bitsPerCode > (long) packed.length * 64)
+                    packed = Arrays.copyOf(packed, Math.max(packed.length * 2, 1));
+                setCode(size - 1, code);
+                break;
+            default:
+                plain.append(element);
+                size++;
+        }
+        modCount++;
+    }
+
+    /**
+     * check if the array contains element. In dictionary mode this is a lookup in the dictionary.
+     *
+     * @param element the element to check
+     * @return {@code true} if the array contains the element, {@code false} if not contains
+     */
+    public boolean contains(E element) {
+        switch (mode) {
+            case RUN_LENGTH:
+                for (int r = 0; r < runCount; r++)
+                    if (Objects.equals(runValues[r], element))
+                        return true;
+                return false;
+            case DICTIONARY:
+                Integer code = codes.get(element);
+                return code != null && codeCounts[code] > 0;
+            default:
+                return plain.contains(element);
+        }
+    }
+
+    /**
+     * make a copy of the elements as a plain array
+     *
+     * @return a {@code SwiftArray} with the elements of this array
+     */
+    public SwiftArray<E> toSwiftArray() {
+        Object[] data = new Object[size];
+        int index = 0;
+        for (E element : this)
+            data[index++] = element;
+        return new SwiftArray<>(data, size);
+    }
+
+    @Override
+    public String toString() {
+        return toSwiftArray().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompactSwiftArray)) return false;
+        CompactSwiftArray<?> array = (CompactSwiftArray<?>) o;
+        return Utility.equals(this, array);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (E element : this)
+            result = 31 * result + Objects.hashCode(element);
+        return result;
+    }
+
+    /* -------------------------------------------------Run Length-------------------------------------------------- */
+
+    /**
+     * Returns the run that holds {@code index}.
+     */
+    private int runOf(int index) {
+        int low = 0, high = runCount - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (runEnds[mid] <= index)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private void insertRun(int run, Object value, int end) {
+        if (runCount == runValues.length) {
+            runValues = Arrays.copyOf(runValues, runCount * 2);
+            runEnds = Arrays.copyOf(runEnds, runCount * 2);
+        }
+        System.arraycopy(runValues, run, runValues, run + 1, runCount - run);
+        System.arraycopy(runEnds, run, runEnds, run + 1, runCount - run);
+        runValues[run] = value;
+        runEnds[run] = end;
+        runCount++;
+    }
+
+    private void setRun(int index, E element) {
+        int run = runOf(index);
+        Object value = runValues[run];
+        if (Objects.equals(value, element)) return;
+        int start = run == 0 ? 0 : runEnds[run - 1], end = runEnds[run];
+
+        if (end - start == 1) {
+            runValues[run] = element;
+        } else {
+            if (index == start) {
+                // [element][value...]
+                insertRun(run, element, index + 1);
+            } else if (index == end - 1) {
+                // [value...][element]
+                runEnds[run] = index;
+                insertRun(run + 1, element, end);
+            } else {
+                // [value...][element][value...]
+                runEnds[run] = index;
+                insertRun(run + 1, element, index + 1);
+                insertRun(run + 2, value, end);
+            }
+            // iterators cache the current run, which may have moved
+            modCount++;
+        }
+        // the element may now equal a neighbouring run, keep one run per stretch of equal elements
+        run = runOf(index);
+        if (run + 1 < runCount && Objects.equals(runValues[run + 1], element))
+            mergeRuns(run);
+        if (run > 0 && Objects.equals(runValues[run - 1], element))
+            mergeRuns(run - 1);
+    }
+
+    /**
+     * Merges {@code run + 1} into {@code run}, which moves the following runs and counts as a modification.
+     */
+    private void mergeRuns(int run) {
+        modCount++;
+        runEnds[run] = runEnds[run + 1];
+        System.arraycopy(runValues, run + 2, runValues, run + 1, runCount - run - 2);
+        System.arraycopy(runEnds, run + 2, runEnds, run + 1, runCount - run - 2);
+        runCount--;
+        runValues[runCount] = null;
+    }
+
+    /* -------------------------------------------------Dictionary-------------------------------------------------- */
+
+    /**
+     * Returns the code of {@code element}, adding it to the dictionary if needed, and counts one more use of it.
+     */
+    private int encode(E element) {
+        Integer code = codes.get(element);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.append(element);
+            codes.put(element, code);
+            if (code == codeCounts.length)
+                codeCounts = Arrays.copyOf(codeCounts, code * 2);
+            if (code == 1 << bitsPerCode)
+                repack(bitsPerCode + 1);
+        }
+        codeCounts[code]++;
+        return code;
+    }
+
+    private int code(int index) {
+        long bit = (long) index * bitsPerCode;
+        int word = (int) (bit >>> 6), shift = (int) (bit & 63);
+        long value = packed[word] >>> shift;
+        if (shift + bitsPerCode > 64)
+            value |= packed[word + 1] << (64 - shift);
+        return (int) (value & ((1L << bitsPerCode) - 1));
+    }
+
+    private void setCode(int index, int code) {
+        long bit = (long) index * bitsPerCode;
+        int word = (int) (bit >>> 6), shift = (int) (bit & 63);
+        long mask = (1L << bitsPerCode) - 1;
+        packed[word] = (packed[word] & ~(mask << shift)) | ((long) code << shift);
+        if (shift + bitsPerCode > 64) {
+            int high = 64 - shift;
+            packed[word + 1] = (packed[word + 1] & ~(mask >>> high)) | ((long) code >>> high);
+        }
+    }
+
+    /**
+     * Stores every code again with {@code bits} bits, once the dictionary outgrows the current code width.
+     */
+    private void repack(int bits) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++)
+            values[i] = code(i);
+        bitsPerCode = bits;
+        packed = new long[(int) Math.max(1, ((long) Math.max(size, 1) * bits + 63) >>> 6)];
+        for (int i = 0; i < size; i++)
+            setCode(i, values[i]);
+    }
+
+    /* --------------------------------------------------Fallback--------------------------------------------------- */
+
+    /**
+     * Moves the elements to plain storage if the encoding has become larger than a plain array would be.
+     */
+    private void fallBackIfLarger() {
+        if (mode == Mode.PLAIN || size < min_compressed_size) return;
+        // a run costs a reference and an int, a dictionary entry a reference plus its hash map entry
+        boolean larger = mode == Mode.RUN_LENGTH
+                ? runCount * 2 > size
+                : dictionary.size() > max_dictionary_size || dictionary.size() * 4 > size;
+        if (!larger) return;
+
+        SwiftArray<E> elements = toSwiftArray();
+        runValues = null;
+        runEnds = null;
+        dictionary = null;
+        codes = null;
+        codeCounts = null;
+        packed = null;
+        plain = elements;
+        mode = Mode.PLAIN;
+    }
+
+    /* ---------------------------------------------------Iterate--------------------------------------------------- */
+
+    /**
+     * Returns an iterator over elements of type {@code T}. In run length mode the iterator walks the runs instead of
+     * searching the run of every index.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int currentIndex, currentRun;
+
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                if (mode != Mode.RUN_LENGTH)
+                    return get(currentIndex++);
+                while (runEnds[currentRun] <= currentIndex)
+                    currentRun++;
+                currentIndex++;
+                return (E) runValues[currentRun];
+            }
+        };
+    }
+}
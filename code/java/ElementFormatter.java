@@ -0,0 +1,82 @@
+/*
+ *   ElementFormatter.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.io.IOException;
+
+/**
+ * Writes the text of one element of an array, used by {@link SwiftArray#writeTo(Appendable, ElementFormatter)}.
+ *
+ * @param <E> Element of the array
+ */
+@FunctionalInterface
+public interface ElementFormatter<E> {
+
+    /**
+     * Appends the text of {@code element} to {@code out}.
+     *
+     * @param element the element to write
+     * @param out     the destination of the text
+     * @throws IOException if {@code out} fails
+     */
+    void format(E element, Appendable out) throws IOException;
+
+    /**
+     * Returns a formatter that writes {@code String.valueOf(element)}, the same text as {@code toString()} of an array.
+     *
+     * @param <E> Element of the array
+     * @return a formatter using {@code String.valueOf}
+     */
+    static <E> ElementFormatter<E> plain() {
+        return (element, out) -> out.append(String.valueOf(element));
+    }
+
+    /**
+     * Returns a formatter that writes elements as JSON strings, with quotes and escapes, and null as {@code null}.
+     *
+     * @param <E> Element of the array
+     * @return a formatter writing JSON strings
+     */
+    static <E> ElementFormatter<E> jsonStrings() {
+        return (element, out) -> {
+            if (element == null) {
+                out.append("null");
+                return;
+            }
+            String string = element.toString();
+            out.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20)
+                            out.append(String.format("\\u%04x", (int) c));
+                        else
+                            out.append(c);
+                }
+            }
+            out.append('"');
+        };
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *   ElementParser.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+/**
+ * Reads one element of an array from its JSON text, used by {@link SwiftArray#parse(java.io.Reader, ElementParser)}.
+ *
+ * @param <E> Element of the array
+ */
+@FunctionalInterface
+public interface ElementParser<E> {
+
+    /**
+     * Returns the element written as {@code text}. The text is the raw JSON value, a string keeps its quotes, and a
+     * nested array or object keeps its brackets. {@code text} is reused for the next element, do not keep it.
+     *
+     * @param text the JSON text of the element
+     * @return the element
+     * @throws IllegalArgumentException if the text is not a valid element
+     */
+    E parse(CharSequence text);
+
+    /**
+     * Returns a parser of JSON strings that decodes quotes and escapes, and reads {@code null} as null.
+     *
+     * @return a parser of JSON strings
+     */
+    static ElementParser<String> jsonStrings() {
+        return text -> {
+            int length = text.length();
+            if (length == 4 && "null".contentEquals(text))
+                return null;
+            if (length < 2 || text.charAt(0) != '"' || text.charAt(length - 1) != '"')
+                throw new IllegalArgumentException("Not a JSON string: " + text);
+            StringBuilder string = new StringBuilder(length - 2);
+            for (int i = 1; i < length - 1; i++) {
+                char c = text.charAt(i);
+                if (c != '\\') {
+                    string.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(++i);
+                switch (escaped) {
+                    case 'n':
+                        string.append('\n');
+                        break;
+                    case 'r':
+                        string.append('\r');
+                        break;
+                    case 't':
+                        string.append('\t');
+                        break;
+                    case 'b':
+                        string.append('\b');
+                        break;
+                    case 'f':
+                        string.append('\f');
+                        break;
+                    case 'u':
+                        if (i + 4 >= length)
+                            throw new IllegalArgumentException("Bad escape in JSON string: " + text);
+                        string.append((char) Integer.parseInt(text.subSequence(i + 1, i + 5).toString(), 16));
+                        i += 4;
+                        break;
+                    default:
+                        string.append(escaped);
+                }
+            }
+            return string.toString();
+        };
+    }
+
+    /**
+     * Returns a parser of JSON integers, reading {@code null} as null.
+     *
+     * @return a parser of JSON integers
+     */
+    static ElementParser<Integer> integers() {
+        return text -> "null".contentEquals(text) ? null : Integer.valueOf(text.toString());
+    }
+}
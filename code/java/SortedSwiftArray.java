@@ -0,0 +1,338 @@
+/*
+ *   SortedSwiftArray.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.*;
+
+/**
+ * An array that keeps its elements sorted by a comparator.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * Elements are stored in a {@code SwiftArray} in ascending order, so lookups are binary searches. Equal elements keep
+ * their insertion order. If the array is unique, it behaves like an ordered set and ignores elements that compare
+ * equal to an element it already contains.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     SortedSwiftArray<Integer> sorted = new SortedSwiftArray<>(Integer::compare);
+ *     sorted.insertAll(new Integer[]{4,1,3});
+ *     sorted.insert(2); // 1
+ *     sorted.lowerBound(3); // 2
+ * </pre>
+ *
+ * @param <E> Element of the array
+ */
+public class SortedSwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
+
+    private final SwiftArray<E> storage;
+
+    private final Comparator<? super E> comparator;
+
+    /**
+     * whether elements that compare equal to an existing element are ignored
+     */
+    private final boolean unique;
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs an empty sorted array that allows equal elements.
+     *
+     * @param comparator the comparator that decides the order of the elements
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public SortedSwiftArray(Comparator<? super E> comparator) {
+        this(comparator, false);
+    }
+
+    /**
+     * Constructs an empty sorted array.
+     *
+     * @param comparator the comparator that decides the order of the elements
+     * @param unique     {@code true} if elements that compare equal to an existing element should be ignored
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public SortedSwiftArray(Comparator<? super E> comparator, boolean unique) {
+        this.comparator = Objects.requireNonNull(comparator);
+        this.unique = unique;
+        this.storage = new SwiftArray<>();
+    }
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * Returns the number of elements in this array.
+     *
+     * @return the number of elements in this array
+     */
+    public int size() {
+        return storage.size();
+    }
+
+    /**
+     * Returns {@code true} if this array contains no elements.
+     *
+     * @return {@code true} if this array contains no elements
+     */
+    public boolean isEmpty() {
+        return storage.isEmpty();
+    }
+
+    /**
+     * Returns the element at the specified position in this array.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this array
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Override
+    public E get(int index) {
+        return storage.get(index);
+    }
+
+    @Override
+    public Range range() {
+        return storage.range();
+    }
+
+    /**
+     * get the comparator that decides the order of the elements
+     *
+     * @return the comparator of the array
+     */
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * check if the array ignores elements that compare equal to an existing element
+     *
+     * @return {@code true} if the array behaves like an ordered set
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+
+    /**
+     * make a copy of the elements as a plain array
+     *
+     * @return a {@code SwiftArray} with the elements in ascending order
+     */
+    public SwiftArray<E> toSwiftArray() {
+        return storage.copy();
+    }
+
+    @Override
+    public String toString() {
+        return storage.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SortedSwiftArray)) return false;
+        SortedSwiftArray<?> array = (SortedSwiftArray<?>) o;
+        return Utility.equals(this, array);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = storage.size();
+        for (E element : storage)
+            result = 31 * result + Objects.hashCode(element);
+        return result;
+    }
+
+    /* -----------------------------------------------Finding Elements---------------------------------------------- */
+
+    /**
+     * Returns the index of the first element that is not less than {@code element}.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     // sorted = [1,2,2,4]
+     *     sorted.lowerBound(2); // 1
+     *     sorted.lowerBound(3); // 3
+     * </pre>
+     *
+     * @param element the element to compare with
+     * @return the index of the first element not less than {@code element}, or {@code size()} if there is no such
+     * element
+     */
+    public int lowerBound(E element) {
+        int low = 0, high = storage.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(storage.data(mid), element) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element that is greater than {@code element}.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     // sorted = [1,2,2,4]
+     *     sorted.upperBound(2); // 3
+     *     sorted.upperBound(4); // 4
+     * </pre>
+     *
+     * @param element the element to compare with
+     * @return the index of the first element greater than {@code element}, or {@code size()} if there is no such
+     * element
+     */
+    public int upperBound(E element) {
+        int low = 0, high = storage.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(storage.data(mid), element) <= 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * find index of first element that compares equal to {@code element}
+     *
+     * @param element the element to find
+     * @return the index of the first equal element, if no such element, return -1
+     */
+    public int indexOf(E element) {
+        int index = lowerBound(element);
+        return index < storage.size() && comparator.compare(storage.data(index), element) == 0 ? index : -1;
+    }
+
+    /**
+     * check if the array contains an element that compares equal to {@code element}
+     *
+     * @param element the element to check
+     * @return {@code true} if the array contains the element, {@code false} if not contains
+     */
+    public boolean contains(E element) {
+        return indexOf(element) != -1;
+    }
+
+    /* -----------------------------------------------Adding Elements----------------------------------------------- */
+
+    /**
+     * insert a new element at its sorted position, after any equal elements
+     *
+     * @param element the new element to insert
+     * @return the index of the new element, or -1 if the array is unique and already contains the element
+     */
+    public int insert(E element) {
+        int index = upperBound(element);
+        if (unique && index > 0 && comparator.compare(storage.data(index - 1), element) == 0)
+            return -1;
+        storage.insert(index, element);
+        return index;
+    }
+
+    /**
+     * insert elements at their sorted positions. The elements are sorted first and then merged with the array in one
+     * linear pass, instead of shifting the array once for each element.
+     *
+     * @param elements the new elements to insert
+     */
+    @SuppressWarnings("unchecked")
+    public void insertAll(E[] elements) {
+        Object[] batch = Arrays.copyOf(elements, elements.length, Object[].class);
+        Arrays.sort((E[]) batch, comparator);
+        int length = batch.length;
+        if (unique)
+            length = removeDuplicates(batch);
+        if (length == 0) return;
+
+        int oldSize = storage.size();
+        // grows the storage to the final size, the appended tail is overwritten by the merge below
+        storage.append((E[]) Arrays.copyOf(batch, length));
+
+        Object[] data = storage.data;
+        int i = oldSize - 1, j = length - 1, write = oldSize + length - 1;
+        while (j >= 0) {
+            // on ties the new element goes after the existing ones
+            if (i >= 0 && comparator.compare(storage.data(i), (E) batch[j]) > 0)
+                data[write--] = data[i--];
+            else
+                data[write--] = batch[j--];
+        }
+    }
+
+    /**
+     * insert elements at their sorted positions
+     *
+     * @param elements the collection whose elements are to be placed into this array
+     */
+    @SuppressWarnings("unchecked")
+    public void insertAll(Collection<? extends E> elements) {
+        insertAll((E[]) elements.toArray());
+    }
+
+    /**
+     * Moves the sorted {@code batch} elements that are neither repeated in the batch nor in the array to its front.
+     *
+     * @param batch the sorted elements
+     * @return the number of elements kept
+     */
+    @SuppressWarnings("unchecked")
+    private int removeDuplicates(Object[] batch) {
+        int length = 0;
+        for (Object element : batch) {
+            if (length > 0 && comparator.compare((E) batch[length - 1], (E) element) == 0) continue;
+            if (contains((E) element)) continue;
+            batch[length++] = element;
+        }
+        return length;
+    }
+
+    /* ----------------------------------------------Removing Elements---------------------------------------------- */
+
+    /**
+     * remove the element at the index
+     *
+     * @param index index of removed element
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void remove(int index) {
+        storage.remove(index);
+    }
+
+    /**
+     * remove the first element that compares equal to {@code element}
+     *
+     * @param element the element to remove
+     * @return {@code true} if an element was removed
+     */
+    public boolean remove(E element) {
+        int index = indexOf(element);
+        if (index == -1) return false;
+        storage.remove(index);
+        return true;
+    }
+
+    /* ---------------------------------------------------Iterate--------------------------------------------------- */
+
+    /**
+     * Returns an iterator over elements of type {@code T}.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return storage.iterator();
+    }
+}
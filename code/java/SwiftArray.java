@@ -8,11 +8,12 @@
 
 package resources.java;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.function.BinaryOperator;
-import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.*;
+import java.util.stream.IntStream;
 
 class SwiftArrayIterator<E> implements Iterator<E> {
 
@@ -20,9 +21,15 @@ class SwiftArrayIterator<E> implements Iterator<E> {
 
     private int currentIndex;
 
+    /**
+     * the modification count of the array when the iterator was created
+     */
+    private final int expectedModCount;
+
     SwiftArrayIterator(SwiftArray<E> array) {
         this.array = array;
         currentIndex = 0;
+        expectedModCount = array.modCount;
     }
 
     /**
@@ -41,10 +48,13 @@ class SwiftArrayIterator<E> implements Iterator<E> {
      * Returns the next element in the iteration.
      *
      * @return the next element in the iteration
-     * @throws NoSuchElementException if the iteration has no more elements
+     * @throws NoSuchElementException          if the iteration has no more elements
+     * @throws ConcurrentModificationException if the array was structurally modified after the iterator was created
      */
     @Override
     public E next() {
+        if (array.modCount != expectedModCount)
+            throw new ConcurrentModificationException();
         if (hasNext())
             return array.get(currentIndex++);
         throw new NoSuchElementException();
@@ -71,6 +81,22 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      */
     private static final int default_capacity = 8;
 
+    /**
+     * Shared empty backing array, used when an array gives its storage away.
+     */
+    private static final Object[] empty_data = {};
+
+    /**
+     * Number of characters {@link #writeTo(Appendable, ElementFormatter)} buffers before writing them out.
+     */
+    private static final int write_chunk_size = 8192;
+
+    /**
+     * Arrays smaller than this are not split by {@link #parallelMin(int, Comparator)}, the threads would cost more
+     * than they save.
+     */
+    private static final int parallel_threshold = 1 << 14;
+
     transient Object[] data;
 
     /**
@@ -88,6 +114,11 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      */
     private int endIndex;
 
+    /**
+     * the number of times the array has been structurally modified, iterators use it to fail fast
+     */
+    transient int modCount;
+
     /* -------------------------------------------------Constructors------------------------------------------------ */
 
     /**
@@ -176,6 +207,19 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
         Arrays.fill(data, item);
     }
 
+    /**
+     * Constructs a array backed by {@code data}, whose first {@code size} elements are the elements of the array.
+     * The array takes the ownership of {@code data}.
+     *
+     * @param data the backing array
+     * @param size the number of elements in {@code data}
+     */
+    SwiftArray(Object[] data, int size) {
+        this.data = data;
+        endIndex = size;
+        capacity = data.length;
+    }
+
     /* -------------------------------------------------Basic Action------------------------------------------------ */
 
     /**
@@ -215,15 +259,96 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
 
     @Override
     public String toString() {
-        StringBuilder string = new StringBuilder("[");
+        // a few characters per element is a rough guess, it saves the first regrowths of the builder
+        StringBuilder string = new StringBuilder((int) Math.min(2L + 4L * size(), write_chunk_size * 16L));
+        try {
+            writeTo(string, ElementFormatter.plain());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return string.toString();
+    }
+
+    /**
+     * Writes the array to {@code out} in the same text as {@link #toString()}, without building the whole string.
+     * Unless {@code out} is a {@code StringBuilder}, the text is buffered and written in chunks.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<String> myArray = new MyArray<>(new String[]{"a","b"});
+     *     myArray.writeTo(writer, ElementFormatter.jsonStrings()); // ["a","b"]
+     * </pre>
+     *
+     * @param out       the destination of the text
+     * @param formatter writes the text of one element
+     * @throws IOException          if {@code out} fails
+     * @throws NullPointerException if the specified formatter is null
+     */
+    public void writeTo(Appendable out, ElementFormatter<? super E> formatter) throws IOException {
+        Objects.requireNonNull(formatter);
+        if (out instanceof StringBuilder) {
+            writeElements((StringBuilder) out, formatter, null);
+        } else {
+            writeElements(new StringBuilder(write_chunk_size + write_chunk_size / 4), formatter, out);
+        }
+    }
+
+    /**
+     * Writes the elements into {@code chunk}, and moves the chunk to {@code out} whenever it is full.
+     */
+    private void writeElements(StringBuilder chunk, ElementFormatter<? super E> formatter, Appendable out)
+            throws IOException {
+        chunk.append('[');
         for (int i = startIndex; i < endIndex; i++) {
-            string.append(data(i));
+            formatter.format(data(i), chunk);
             if (i < endIndex - 1) {
-                string.append(",");
+                chunk.append(',');
+            }
+            if (out != null && chunk.length() >= write_chunk_size) {
+                out.append(chunk);
+                chunk.setLength(0);
             }
         }
-        string.append("]");
-        return string.toString();
+        chunk.append(']');
+        if (out != null)
+            out.append(chunk);
+    }
+
+    /**
+     * Reads an array written in JSON array syntax, one element at a time, without holding the whole input.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     SwiftArray.parse(new StringReader("[1, 2, 3]"), ElementParser.integers()); // [1,2,3]
+     * </pre>
+     *
+     * @param reader the source of the text
+     * @param parser reads one element from its JSON text
+     * @param <E>    Element of the array
+     * @return the parsed array
+     * @throws IOException              if {@code reader} fails
+     * @throws IllegalArgumentException if the text is not a JSON array
+     */
+    public static <E> SwiftArray<E> parse(Reader reader, ElementParser<E> parser) throws IOException {
+        return parse(reader, parser, default_capacity);
+    }
+
+    /**
+     * Reads an array written in JSON array syntax, one element at a time, without holding the whole input.
+     *
+     * @param reader       the source of the text
+     * @param parser       reads one element from its JSON text
+     * @param expectedSize the expected number of elements, the array is presized to it
+     * @param <E>          Element of the array
+     * @return the parsed array
+     * @throws IOException              if {@code reader} fails
+     * @throws IllegalArgumentException if the text is not a JSON array, or the expected size is negative
+     */
+    public static <E> SwiftArray<E> parse(Reader reader, ElementParser<E> parser, int expectedSize)
+            throws IOException {
+        Objects.requireNonNull(reader);
+        Objects.requireNonNull(parser);
+        return new SwiftArrayParser<>(reader, parser).parse(new SwiftArray<>(expectedSize));
     }
 
     public Range range() {
@@ -260,9 +385,36 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      *
      * @return a copy of the instance
      */
-    @SuppressWarnings("unchecked")
     public SwiftArray<E> copy() {
-        return new SwiftArray<>((E[]) this.data.clone());
+        return new SwiftArray<>(Arrays.copyOf(data, size()), size());
+    }
+
+    /**
+     * make a copy for the current instance, backed by an array from {@code pool}
+     *
+     * @param pool the pool to take the backing array from
+     * @return a copy of the instance
+     * @throws NullPointerException if the specified pool is null
+     */
+    public SwiftArray<E> copy(SwiftArrayPool pool) {
+        SwiftArray<E> copy = pool.newArray(size());
+        System.arraycopy(data, startIndex, copy.data, 0, size());
+        copy.endIndex = size();
+        return copy;
+    }
+
+    /**
+     * Gives the backing array away, the array is left empty.
+     *
+     * @return the backing array
+     */
+    Object[] detach() {
+        Object[] detached = data;
+        data = empty_data;
+        capacity = 0;
+        endIndex = 0;
+        modCount++;
+        return detached;
     }
 
 
@@ -288,7 +440,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      */
     public void append(E element) {
         if (endIndex == capacity) {
-            capacity *= 2;
+            capacity = Math.max(capacity * 2, default_capacity);
             Object[] newObjects = new Object[capacity];
             System.arraycopy(data, 0, newObjects, 0, size());
             newObjects[endIndex] = element;
@@ -297,6 +449,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
             data[endIndex] = element;
         }
         endIndex += 1;
+        modCount++;
     }
 
 
@@ -311,7 +464,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
             append(element);
             return;
         } else if (endIndex == capacity) {
-            capacity *= 2;
+            capacity = Math.max(capacity * 2, default_capacity);
             Object[] newObjects = new Object[capacity];
             System.arraycopy(data, 0, newObjects, 0, index);
             newObjects[index] = element;
@@ -322,6 +475,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
             data[index] = element;
         }
         endIndex += 1;
+        modCount++;
     }
 
     /* ------------------------------------------------Combing Arrays----------------------------------------------- */
@@ -354,6 +508,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
             data = tmp;
         }
         endIndex = total;
+        modCount++;
     }
 
 
@@ -383,6 +538,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
             }
         }
         endIndex += elements.length;
+        modCount++;
     }
 
     /* ----------------------------------------------Removing Elements---------------------------------------------- */
@@ -397,6 +553,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
         Utility.checkIndex(index, endIndex);
         System.arraycopy(data, index + 1, data, index, size() - index - 1);
         data[--endIndex] = null;
+        modCount++;
     }
 
     /**
@@ -404,6 +561,7 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      */
     public void removeLast() {
         data[--endIndex] = null;
+        modCount++;
     }
 
     /**
@@ -439,6 +597,29 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
         }
     }
 
+    /**
+     * remove the elements selected by {@code mask}, the remaining elements are compacted in one pass
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{1,2,3,4});
+     *     myArray.removeAll(myArray.filterMask(x -> x % 2 == 0)); // [1,3]
+     * </pre>
+     *
+     * @param mask the mask that selects the elements to remove
+     * @throws IllegalArgumentException if the size of the mask is not the size of the array
+     */
+    public void removeAll(SwiftArrayMask mask) {
+        checkMask(mask);
+        int write = startIndex;
+        for (int i = startIndex; i < endIndex; i++)
+            if ((mask.word(i >>> 6) & (1L << i)) == 0)
+                data[write++] = data[i];
+        Arrays.fill(data, write, endIndex, null);
+        endIndex = write;
+        modCount++;
+    }
+
     /* ----------------------------------------------Excluding Elements--------------------------------------------- */
 
     /**
@@ -447,8 +628,22 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      * @return the copy that removed first element
      */
     public SwiftArray<E> dropFirst() {
-        SwiftArray<E> copy = copy();
-        copy.removeFirst();
+        Utility.checkIndex(0, endIndex);
+        return new SwiftArray<>(Arrays.copyOfRange(data, 1, endIndex), size() - 1);
+    }
+
+    /**
+     * return the copy that removed first element, backed by an array from {@code pool}
+     *
+     * @param pool the pool to take the backing array from
+     * @return the copy that removed first element
+     * @throws NullPointerException if the specified pool is null
+     */
+    public SwiftArray<E> dropFirst(SwiftArrayPool pool) {
+        Utility.checkIndex(0, endIndex);
+        SwiftArray<E> copy = pool.newArray(size() - 1);
+        System.arraycopy(data, 1, copy.data, 0, size() - 1);
+        copy.endIndex = size() - 1;
         return copy;
     }
 
@@ -471,20 +666,50 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      *                  should be skipped or false if it should be included. Once the predicate returns false it will
      *                  not be called again.
      * @return a subsequence by skipping elements while predicate returns true and returning the remaining elements.
-     * @throws NullPointerException if the specified action is null
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
      */
     public SwiftArray<E> drop(Predicate<E> predicate) {
         Objects.requireNonNull(predicate);
-        SwiftArray<E> ret = new SwiftArray<>(capacity);
+        return dropInto(predicate, new SwiftArray<>(size()));
+    }
 
-        forEach(e -> {
-            if (predicate.test(e))
-                ret.append(e);
-        });
+    /**
+     * Returns a subsequence by skipping elements while {@code predicate} returns true and returning the remaining
+     * elements, backed by an array from {@code pool}.
+     *
+     * @param predicate A closure that takes an element of the sequence as its argument and returns true if the element
+     *                  should be skipped or false if it should be included.
+     * @param pool      the pool to take the backing array from
+     * @return a subsequence by skipping elements while predicate returns true and returning the remaining elements.
+     * @throws NullPointerException            if the specified action or pool is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public SwiftArray<E> drop(Predicate<E> predicate, SwiftArrayPool pool) {
+        Objects.requireNonNull(predicate);
+        return dropInto(predicate, pool.newArray(size()));
+    }
 
+    private SwiftArray<E> dropInto(Predicate<E> predicate, SwiftArray<E> ret) {
+        final int expectedModCount = modCount;
+        int count = 0;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            if (predicate.test(data(i)))
+                ret.data[count++] = data[i];
+        checkForComodification(expectedModCount);
+        ret.endIndex = count;
         return ret;
     }
 
+    /**
+     * Throws if the array was structurally modified since {@code expectedModCount} was read, for loops that call back
+     * into user code and would otherwise skip elements or run past the end of the array.
+     */
+    private void checkForComodification(int expectedModCount) {
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
     /* -----------------------------------------------Finding Elements---------------------------------------------- */
 
     /**
@@ -651,6 +876,78 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
         return -1;
     }
 
+    /**
+     * Returns the number of elements that satisfy the given predicate.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{1,2,4,2,4,6});
+     *     myArray.count(x -> x % 2 == 0); // 5
+     * </pre>
+     *
+     * @param predicate A closure that takes an element as its argument and returns a Boolean value that indicates
+     *                  whether the element should be counted.
+     * @return the number of elements for which predicate returns true
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public int count(Predicate<E> predicate) {
+        Objects.requireNonNull(predicate);
+        final int expectedModCount = modCount;
+        int count = 0;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            if (predicate.test(data(i)))
+                count++;
+        checkForComodification(expectedModCount);
+        return count;
+    }
+
+    /**
+     * Returns the minimum element in the sequence, using the given comparator.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{4,2,6,1});
+     *     myArray.min(Integer::compare); // 1
+     * </pre>
+     *
+     * @param comparator the comparator that decides the order of the elements
+     * @return the first minimum element, or null if the array is empty
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public E min(Comparator<? super E> comparator) {
+        Objects.requireNonNull(comparator);
+        if (isEmpty()) return null;
+        E min = data(startIndex);
+        for (int i = startIndex + 1; i < endIndex; i++)
+            if (comparator.compare(data(i), min) < 0)
+                min = data(i);
+        return min;
+    }
+
+    /**
+     * Returns the maximum element in the sequence, using the given comparator.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{4,2,6,1});
+     *     myArray.max(Integer::compare); // 6
+     * </pre>
+     *
+     * @param comparator the comparator that decides the order of the elements
+     * @return the first maximum element, or null if the array is empty
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public E max(Comparator<? super E> comparator) {
+        Objects.requireNonNull(comparator);
+        if (isEmpty()) return null;
+        E max = data(startIndex);
+        for (int i = startIndex + 1; i < endIndex; i++)
+            if (comparator.compare(data(i), max) > 0)
+                max = data(i);
+        return max;
+    }
+
     /**
      * Returns a subsequence by skipping elements while {@code predicate} returns true and returning the remaining
      * elements.
@@ -666,13 +963,81 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      *                  should be skipped or false if it should be included. Once the predicate returns false it will
      *                  not be called again.
      * @return a subsequence by skipping elements while predicate returns true and returning the remaining elements.
-     * @throws NullPointerException if the specified action is null
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
      */
     public SwiftArray<E> filter(Predicate<E> predicate) {
         Objects.requireNonNull(predicate);
         return drop(predicate);
     }
 
+    /**
+     * Returns the elements matching {@code predicate}, backed by an array from {@code pool}.
+     *
+     * @param predicate A closure that takes an element of the sequence as its argument and returns true if the element
+     *                  should be included.
+     * @param pool      the pool to take the backing array from
+     * @return the elements matching {@code predicate}
+     * @throws NullPointerException            if the specified action or pool is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public SwiftArray<E> filter(Predicate<E> predicate, SwiftArrayPool pool) {
+        Objects.requireNonNull(predicate);
+        return drop(predicate, pool);
+    }
+
+    /**
+     * Returns a mask that selects the elements matching {@code predicate}, without copying any element.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{1,2,4,2,4,6});
+     *     myArray.filterMask(x -> x > 3).indices(); // [2,4,5]
+     * </pre>
+     *
+     * @param predicate A closure that takes an element of the sequence as its argument and returns true if the element
+     *                  should be selected.
+     * @return a mask of the size of the array
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public SwiftArrayMask filterMask(Predicate<E> predicate) {
+        Objects.requireNonNull(predicate);
+        final int expectedModCount = modCount;
+        long[] words = new long[(size() + 63) >>> 6];
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            if (predicate.test(data(i)))
+                words[i >>> 6] |= 1L << i;
+        checkForComodification(expectedModCount);
+        return new SwiftArrayMask(words, size());
+    }
+
+    /**
+     * Returns the elements selected by {@code mask}, in a array presized to the number of selected elements.
+     *
+     * @param mask the mask that selects the elements
+     * @return the selected elements
+     * @throws IllegalArgumentException if the size of the mask is not the size of the array
+     */
+    public SwiftArray<E> gather(SwiftArrayMask mask) {
+        checkMask(mask);
+        Object[] selected = new Object[mask.count()];
+        int count = 0;
+        for (int i = 0; i < mask.wordCount(); i++) {
+            long word = mask.word(i);
+            while (word != 0) {
+                selected[count++] = data[(i << 6) + Long.numberOfTrailingZeros(word)];
+                word &= word - 1;
+            }
+        }
+        return new SwiftArray<>(selected, count);
+    }
+
+    private void checkMask(SwiftArrayMask mask) {
+        if (mask.size() != size())
+            throw new IllegalArgumentException("Mask size " + mask.size() + " does not match array size " + size());
+    }
+
     /* --------------------------------------------Transforming an Array-------------------------------------------- */
 
     /**
@@ -710,16 +1075,37 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      *                 transformed value of the same or of a different type.
      * @param <R>      the type of the element of return array
      * @return An array containing the transformed elements of this sequence.
-     * @throws NullPointerException if the specified action is null
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
      */
     public <R> SwiftArray<R> map(Function<E, R> function) {
         Objects.requireNonNull(function);
-        SwiftArray<R> newArray = new SwiftArray<>(getCapacity());
-
-        Consumer<E> consumer = e -> newArray.append(function.apply(e));
+        return mapInto(function, new SwiftArray<>(size()));
+    }
 
-        forEach(consumer);
+    /**
+     * Returns an array containing the results of mapping the given closure over the sequence’s elements, backed by an
+     * array from {@code pool}.
+     *
+     * @param function A mapping closure. transform accepts an element of this sequence as its parameter and returns a
+     *                 transformed value of the same or of a different type.
+     * @param pool     the pool to take the backing array from
+     * @param <R>      the type of the element of return array
+     * @return An array containing the transformed elements of this sequence.
+     * @throws NullPointerException            if the specified action or pool is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public <R> SwiftArray<R> map(Function<E, R> function, SwiftArrayPool pool) {
+        Objects.requireNonNull(function);
+        return mapInto(function, pool.newArray(size()));
+    }
 
+    private <R> SwiftArray<R> mapInto(Function<E, R> function, SwiftArray<R> newArray) {
+        final int expectedModCount = modCount;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            newArray.data[i] = function.apply(data(i));
+        checkForComodification(expectedModCount);
+        newArray.endIndex = size();
         return newArray;
     }
 
@@ -734,18 +1120,408 @@ public class SwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
      *
      * @param binaryOperator A closure that updates the accumulating value with an element of the sequence.
      * @return The final accumulated value. If the sequence has no elements, the result is initialResult.
-     * @throws NullPointerException if the specified action is null
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
      */
     public E reduce(final E initialResult, BinaryOperator<E> binaryOperator) {
         Objects.requireNonNull(binaryOperator);
+        final int expectedModCount = modCount;
         E ret = initialResult;
 
-        for (int i = 0; i < endIndex; i++)
+        for (int i = 0; modCount == expectedModCount && i < endIndex; i++)
             ret = binaryOperator.apply(ret, data(i));
 
+        checkForComodification(expectedModCount);
+        return ret;
+    }
+
+    /**
+     * Returns the result of combining the elements of the sequence using the given closure, which updates a mutable
+     * accumulator in place instead of returning a new value for every element.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<String> myArray = new MyArray<>(new String[]{"a","b","a"});
+     *     myArray.reduceInto(new HashMap<String, Integer>(), (map, e) -> map.merge(e, 1, Integer::sum)); // {a=2, b=1}
+     * </pre>
+     *
+     * @param initialResult            the accumulator to update
+     * @param updateAccumulatingResult A closure that updates the accumulator with an element of the sequence.
+     * @param <R>                      the type of the accumulator
+     * @return the accumulator {@code initialResult}
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public <R> R reduceInto(final R initialResult, BiConsumer<? super R, ? super E> updateAccumulatingResult) {
+        Objects.requireNonNull(updateAccumulatingResult);
+        final int expectedModCount = modCount;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            updateAccumulatingResult.accept(initialResult, data(i));
+        checkForComodification(expectedModCount);
+        return initialResult;
+    }
+
+    /**
+     * Returns the result of combining the {@code int} values of the elements using the given closure, without boxing.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<String> myArray = new MyArray<>(new String[]{"a","bc","def"});
+     *     myArray.reduceToInt(0, String::length, Math::max); // 3
+     * </pre>
+     *
+     * @param initialResult  the value to use as the initial accumulating value
+     * @param mapper         A closure that returns the {@code int} value of an element.
+     * @param binaryOperator A closure that updates the accumulating value with the value of an element.
+     * @return The final accumulated value. If the sequence has no elements, the result is initialResult.
+     * @throws NullPointerException            if any specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public int reduceToInt(final int initialResult, ToIntFunction<? super E> mapper, IntBinaryOperator binaryOperator) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(binaryOperator);
+        final int expectedModCount = modCount;
+        int ret = initialResult;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            ret = binaryOperator.applyAsInt(ret, mapper.applyAsInt(data(i)));
+        checkForComodification(expectedModCount);
         return ret;
     }
 
+    /**
+     * Returns the result of combining the {@code long} values of the elements using the given closure, without boxing.
+     *
+     * @param initialResult  the value to use as the initial accumulating value
+     * @param mapper         A closure that returns the {@code long} value of an element.
+     * @param binaryOperator A closure that updates the accumulating value with the value of an element.
+     * @return The final accumulated value. If the sequence has no elements, the result is initialResult.
+     * @throws NullPointerException            if any specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public long reduceToLong(final long initialResult, ToLongFunction<? super E> mapper,
+                             LongBinaryOperator binaryOperator) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(binaryOperator);
+        final int expectedModCount = modCount;
+        long ret = initialResult;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            ret = binaryOperator.applyAsLong(ret, mapper.applyAsLong(data(i)));
+        checkForComodification(expectedModCount);
+        return ret;
+    }
+
+    /**
+     * Returns the result of combining the {@code double} values of the elements using the given closure, without
+     * boxing.
+     *
+     * @param initialResult  the value to use as the initial accumulating value
+     * @param mapper         A closure that returns the {@code double} value of an element.
+     * @param binaryOperator A closure that updates the accumulating value with the value of an element.
+     * @return The final accumulated value. If the sequence has no elements, the result is initialResult.
+     * @throws NullPointerException            if any specified action is null
+     * @throws ConcurrentModificationException if the closure structurally modifies the array
+     */
+    public double reduceToDouble(final double initialResult, ToDoubleFunction<? super E> mapper,
+                                 DoubleBinaryOperator binaryOperator) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(binaryOperator);
+        final int expectedModCount = modCount;
+        double ret = initialResult;
+        for (int i = startIndex; modCount == expectedModCount && i < endIndex; i++)
+            ret = binaryOperator.applyAsDouble(ret, mapper.applyAsDouble(data(i)));
+        checkForComodification(expectedModCount);
+        return ret;
+    }
+
+    /**
+     * Returns the sum of the {@code int} values of the elements.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{1,2,3,4});
+     *     myArray.sumInt(Integer::intValue); // 10
+     * </pre>
+     *
+     * @param mapper A closure that returns the {@code int} value of an element.
+     * @return the sum of the values, or 0 if the array is empty
+     * @throws NullPointerException if the specified action is null
+     */
+    public int sumInt(ToIntFunction<? super E> mapper) {
+        Objects.requireNonNull(mapper);
+        int sum = 0;
+        for (int i = startIndex; i < endIndex; i++)
+            sum += mapper.applyAsInt(data(i));
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the {@code long} values of the elements.
+     *
+     * @param mapper A closure that returns the {@code long} value of an element.
+     * @return the sum of the values, or 0 if the array is empty
+     * @throws NullPointerException if the specified action is null
+     */
+    public long sumLong(ToLongFunction<? super E> mapper) {
+        Objects.requireNonNull(mapper);
+        long sum = 0;
+        for (int i = startIndex; i < endIndex; i++)
+            sum += mapper.applyAsLong(data(i));
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the {@code double} values of the elements.
+     *
+     * @param mapper A closure that returns the {@code double} value of an element.
+     * @return the sum of the values, or 0 if the array is empty
+     * @throws NullPointerException if the specified action is null
+     */
+    public double sumDouble(ToDoubleFunction<? super E> mapper) {
+        Objects.requireNonNull(mapper);
+        double sum = 0;
+        for (int i = startIndex; i < endIndex; i++)
+            sum += mapper.applyAsDouble(data(i));
+        return sum;
+    }
+
+    /* ---------------------------------------------Selecting Elements---------------------------------------------- */
+
+    /**
+     * Returns the smallest {@code count} elements, in ascending order. Only a heap of {@code count} elements is kept
+     * while scanning, so this is O(n log count) and does not sort or copy the array.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{7,1,5,3,9});
+     *     myArray.min(2, Integer::compare); // [1,3]
+     * </pre>
+     *
+     * @param count      the maximum number of elements to return
+     * @param comparator the comparator that decides the order of the elements
+     * @return the smallest {@code count} elements, or all elements if there are fewer
+     * @throws RuntimeException     if count is negative
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public SwiftArray<E> min(int count, Comparator<? super E> comparator) {
+        Utility.isAlwaysNonNegative(count);
+        Objects.requireNonNull(comparator);
+        return sortedHeap(selectSmallest(data, startIndex, endIndex, count, comparator), comparator);
+    }
+
+    /**
+     * Returns the largest {@code count} elements, in ascending order. Only a heap of {@code count} elements is kept
+     * while scanning, so this is O(n log count) and does not sort or copy the array.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{7,1,5,3,9});
+     *     myArray.max(2, Integer::compare); // [7,9]
+     * </pre>
+     *
+     * @param count      the maximum number of elements to return
+     * @param comparator the comparator that decides the order of the elements
+     * @return the largest {@code count} elements, or all elements if there are fewer
+     * @throws RuntimeException     if count is negative
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public SwiftArray<E> max(int count, Comparator<? super E> comparator) {
+        Utility.isAlwaysNonNegative(count);
+        Objects.requireNonNull(comparator);
+        Comparator<? super E> reversed = Collections.reverseOrder(comparator);
+        return sortedHeap(selectSmallest(data, startIndex, endIndex, count, reversed), comparator);
+    }
+
+    /**
+     * Returns the smallest {@code count} elements, in ascending order. The array is split into chunks that are
+     * scanned in parallel, each with its own heap, and the heaps are merged at the end. Small arrays are scanned on
+     * the calling thread. The array must not be modified while this runs.
+     *
+     * @param count      the maximum number of elements to return
+     * @param comparator the comparator that decides the order of the elements, called from several threads
+     * @return the smallest {@code count} elements, or all elements if there are fewer
+     * @throws RuntimeException     if count is negative
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public SwiftArray<E> parallelMin(int count, Comparator<? super E> comparator) {
+        Utility.isAlwaysNonNegative(count);
+        Objects.requireNonNull(comparator);
+        return sortedHeap(parallelSelectSmallest(count, comparator), comparator);
+    }
+
+    /**
+     * Returns the largest {@code count} elements, in ascending order. The array is split into chunks that are
+     * scanned in parallel, each with its own heap, and the heaps are merged at the end. Small arrays are scanned on
+     * the calling thread. The array must not be modified while this runs.
+     *
+     * @param count      the maximum number of elements to return
+     * @param comparator the comparator that decides the order of the elements, called from several threads
+     * @return the largest {@code count} elements, or all elements if there are fewer
+     * @throws RuntimeException     if count is negative
+     * @throws NullPointerException if the specified comparator is null
+     */
+    public SwiftArray<E> parallelMax(int count, Comparator<? super E> comparator) {
+        Utility.isAlwaysNonNegative(count);
+        Objects.requireNonNull(comparator);
+        return sortedHeap(parallelSelectSmallest(count, Collections.reverseOrder(comparator)), comparator);
+    }
+
+    /**
+     * Rearranges the array in place so that the element at {@code index} is the one that would be there if the array
+     * were sorted, no element before it is greater and no element after it is smaller. It runs quickselect and falls
+     * back to sorting the remaining range if the partitions keep coming out unbalanced, so it is O(n) on average and
+     * O(n log n) at worst.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{7,1,5,3,9});
+     *     myArray.nthElement(2, Integer::compare); // 5
+     * </pre>
+     *
+     * @param index      the sorted position to find
+     * @param comparator the comparator that decides the order of the elements
+     * @return the element at {@code index} after the rearrangement
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     * @throws NullPointerException      if the specified comparator is null
+     */
+    public E nthElement(int index, Comparator<? super E> comparator) {
+        Utility.checkIndex(index, endIndex);
+        Objects.requireNonNull(comparator);
+        int low = startIndex, high = endIndex - 1;
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(size()));
+        while (high > low) {
+            if (high - low < 16 || depthLimit-- == 0) {
+                sortRange(low, high + 1, comparator);
+                break;
+            }
+            // median of three, which also leaves sentinels at both ends for the scans below
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(data(mid), data(low)) < 0) swap(mid, low);
+            if (comparator.compare(data(high), data(low)) < 0) swap(high, low);
+            if (comparator.compare(data(high), data(mid)) < 0) swap(high, mid);
+            E pivot = data(mid);
+
+            int i = low, j = high;
+            while (i <= j) {
+                while (comparator.compare(data(i), pivot) < 0) i++;
+                while (comparator.compare(data(j), pivot) > 0) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            // [low, j] <= pivot, [i, high] >= pivot, anything between equals the pivot
+            if (index <= j)
+                high = j;
+            else if (index >= i)
+                low = i;
+            else
+                break;
+        }
+        modCount++;
+        return data(index);
+    }
+
+    private void swap(int i, int j) {
+        Object tmp = data[i];
+        data[i] = data[j];
+        data[j] = tmp;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortRange(int from, int to, Comparator<? super E> comparator) {
+        Arrays.sort((E[]) data, from, to, comparator);
+    }
+
+    private Object[] parallelSelectSmallest(int count, Comparator<? super E> comparator) {
+        if (size() < parallel_threshold)
+            return selectSmallest(data, startIndex, endIndex, count, comparator);
+        final Object[] data = this.data;
+        final int from = startIndex, size = size();
+        final int chunks = Math.min(Runtime.getRuntime().availableProcessors() * 4, size / (parallel_threshold / 4));
+        final int chunkSize = (size + chunks - 1) / chunks;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> selectSmallest(data, from + chunk * chunkSize,
+                        from + Math.min(size, (chunk + 1) * chunkSize), count, comparator))
+                .reduce((x, y) -> {
+                    Object[] merged = Arrays.copyOf(x, x.length + y.length);
+                    System.arraycopy(y, 0, merged, x.length, y.length);
+                    return selectSmallest(merged, 0, merged.length, count, comparator);
+                })
+                .orElseGet(() -> new Object[0]);
+    }
+
+    /**
+     * Returns the smallest {@code count} elements of {@code data[from..<to]}, as a max-heap whose root is the largest
+     * element kept.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Object[] selectSmallest(Object[] data, int from, int to, int count,
+                                               Comparator<? super E> comparator) {
+        Object[] heap = new Object[Math.min(count, to - from)];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            E element = (E) data[i];
+            if (size < heap.length) {
+                // sift up
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (comparator.compare((E) heap[parent], element) >= 0) break;
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = element;
+            } else if (size > 0 && comparator.compare(element, (E) heap[0]) < 0) {
+                // replace the root and sift down
+                int parent = 0;
+                while (true) {
+                    int child = 2 * parent + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && comparator.compare((E) heap[child + 1], (E) heap[child]) > 0) child++;
+                    if (comparator.compare((E) heap[child], element) <= 0) break;
+                    heap[parent] = heap[child];
+                    parent = child;
+                }
+                heap[parent] = element;
+            }
+        }
+        return heap;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> SwiftArray<E> sortedHeap(Object[] heap, Comparator<? super E> comparator) {
+        Arrays.sort((E[]) heap, comparator);
+        return new SwiftArray<>(heap, heap.length);
+    }
+
+    /* ----------------------------------------------Comparing Arrays----------------------------------------------- */
+
+    /**
+     * Returns the difference needed to produce this array from {@code original}.
+     *
+     * <h3>Code Sample</h3>
+     * <pre>
+     *     MyArray<Integer> old = new MyArray<>(new Integer[]{1,2,3,4});
+     *     MyArray<Integer> changed = new MyArray<>(new Integer[]{1,3,4,5});
+     *     changed.difference(old); // [-1@1:[2], +1@3:[5]]
+     * </pre>
+     *
+     * @param original the array to compare with
+     * @return the removals from {@code original} and the insertions into this array
+     * @throws NullPointerException if the specified array is null
+     */
+    public SwiftArrayDifference<E> difference(SwiftArray<E> original) {
+        return SwiftArrayDifference.between(original, this);
+    }
+
+    /**
+     * Returns a new array by applying {@code difference} to this array, unchanged blocks are copied in one piece.
+     *
+     * @param difference the difference to apply
+     * @return the changed array, or null if the difference cannot be applied to this array
+     * @throws NullPointerException if the specified difference is null
+     */
+    public SwiftArray<E> applying(SwiftArrayDifference<E> difference) {
+        return difference.apply(this);
+    }
+
     /* ---------------------------------------------------Iterate--------------------------------------------------- */
 
     /**
@@ -0,0 +1,400 @@
+/*
+ *   SwiftArrayDifference.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A collection of insertions and removals that describe the difference between two arrays.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * Changes are stored as runs, every change inserts or removes a block of adjacent elements. The offset of a removal
+ * refers to the original array, the offset of an insertion refers to the changed array, as in {@code Swift}'s
+ * {@code CollectionDifference}. The difference is found with Myers' O(ND) algorithm in its linear space variant,
+ * after the common prefix and suffix have been skipped.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     MyArray<Integer> old = new MyArray<>(new Integer[]{1,2,3,4});
+ *     MyArray<Integer> changed = new MyArray<>(new Integer[]{1,3,4,5});
+ *     SwiftArrayDifference<Integer> difference = changed.difference(old); // [-1@1:[2], +1@3:[5]]
+ *     old.applying(difference); // [1,3,4,5]
+ * </pre>
+ *
+ * @param <E> Element of the arrays
+ */
+public class SwiftArrayDifference<E> implements Iterable<SwiftArrayDifference.Change<E>> {
+
+    /**
+     * A block of adjacent elements inserted into or removed from an array.
+     *
+     * @param <E> Element of the arrays
+     */
+    public static final class Change<E> {
+
+        private final boolean insertion;
+
+        private final int offset;
+
+        private final SwiftArray<E> elements;
+
+        Change(boolean insertion, int offset, SwiftArray<E> elements) {
+            this.insertion = insertion;
+            this.offset = offset;
+            this.elements = elements;
+        }
+
+        /**
+         * check if the change is an insertion
+         *
+         * @return {@code true} if the change is an insertion, {@code false} if it is a removal
+         */
+        public boolean isInsertion() {
+            return insertion;
+        }
+
+        /**
+         * get the offset of the first element of the change
+         *
+         * @return the offset in the changed array for an insertion, in the original array for a removal
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+        /**
+         * get the inserted or removed elements
+         *
+         * @return the elements of the change
+         */
+        public SwiftArray<E> getElements() {
+            return elements;
+        }
+
+        @Override
+        public String toString() {
+            return (insertion ? "+" : "-") + elements.size() + "@" + offset + ":" + elements;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Change)) return false;
+            Change<?> change = (Change<?>) o;
+            return insertion == change.insertion && offset == change.offset && elements.equals(change.elements);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(insertion, offset, elements);
+        }
+    }
+
+    /**
+     * removals in ascending order of offset
+     */
+    private final SwiftArray<Change<E>> removals;
+
+    /**
+     * insertions in ascending order of offset
+     */
+    private final SwiftArray<Change<E>> insertions;
+
+    private SwiftArrayDifference(SwiftArray<Change<E>> removals, SwiftArray<Change<E>> insertions) {
+        this.removals = removals;
+        this.insertions = insertions;
+    }
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * get the removals, in ascending order of offset
+     *
+     * @return the removals of the difference
+     */
+    public SwiftArray<Change<E>> getRemovals() {
+        return removals.copy();
+    }
+
+    /**
+     * get the insertions, in ascending order of offset
+     *
+     * @return the insertions of the difference
+     */
+    public SwiftArray<Change<E>> getInsertions() {
+        return insertions.copy();
+    }
+
+    /**
+     * Returns {@code true} if the arrays are equal.
+     *
+     * @return {@code true} if there is no change
+     */
+    public boolean isEmpty() {
+        return removals.isEmpty() && insertions.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder("[");
+        for (Change<E> change : this) {
+            if (string.length() > 1) {
+                string.append(", ");
+            }
+            string.append(change);
+        }
+        string.append("]");
+        return string.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SwiftArrayDifference)) return false;
+        SwiftArrayDifference<?> difference = (SwiftArrayDifference<?>) o;
+        return removals.equals(difference.removals) && insertions.equals(difference.insertions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(removals, insertions);
+    }
+
+    /**
+     * Returns an iterator over the removals followed by the insertions.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<Change<E>> iterator() {
+        SwiftArray<Change<E>> changes = new SwiftArray<>(removals.size() + insertions.size());
+        for (Change<E> change : removals)
+            changes.append(change);
+        for (Change<E> change : insertions)
+            changes.append(change);
+        return changes.iterator();
+    }
+
+    /* --------------------------------------------------Applying--------------------------------------------------- */
+
+    /**
+     * Returns a new array with the changes applied to {@code array}. Unchanged blocks are copied in one piece.
+     *
+     * @param array the original array
+     * @return the changed array, or null if the difference does not fit the array
+     */
+    SwiftArray<E> apply(SwiftArray<E> array) {
+        int oldSize = array.size(), newSize = oldSize;
+        for (Change<E> change : removals) {
+            if (change.offset + change.elements.size() > oldSize) return null;
+            newSize -= change.elements.size();
+        }
+        for (Change<E> change : insertions)
+            newSize += change.elements.size();
+        if (newSize < 0) return null;
+
+        Object[] result = new Object[newSize];
+        int oldIndex = 0, newIndex = 0, removal = 0, insertion = 0;
+        while (newIndex < newSize || oldIndex < oldSize) {
+            Change<E> nextRemoval = removal < removals.size() ? removals.get(removal) : null;
+            Change<E> nextInsertion = insertion < insertions.size() ? insertions.get(insertion) : null;
+            if (nextInsertion != null && nextInsertion.offset == newIndex) {
+                int length = nextInsertion.elements.size();
+                if (newIndex + length > newSize) return null;
+                System.arraycopy(nextInsertion.elements.data, 0, result, newIndex, length);
+                newIndex += length;
+                insertion++;
+            } else if (nextRemoval != null && nextRemoval.offset == oldIndex) {
+                oldIndex += nextRemoval.elements.size();
+                removal++;
+            } else {
+                // copy the unchanged block up to the next change
+                int length = Math.min(
+                        (nextRemoval != null ? nextRemoval.offset : oldSize) - oldIndex,
+                        (nextInsertion != null ? nextInsertion.offset : newSize) - newIndex);
+                if (length <= 0 || newIndex + length > newSize) return null;
+                System.arraycopy(array.data, oldIndex, result, newIndex, length);
+                oldIndex += length;
+                newIndex += length;
+            }
+        }
+        return new SwiftArray<>(result, newSize);
+    }
+
+    /* --------------------------------------------------Diffing---------------------------------------------------- */
+
+    /**
+     * Returns the difference needed to produce {@code changed} from {@code original}.
+     *
+     * @param original the original array
+     * @param changed  the changed array
+     * @param <E>      Element of the arrays
+     * @return the difference between the arrays
+     */
+    static <E> SwiftArrayDifference<E> between(SwiftArray<E> original, SwiftArray<E> changed) {
+        Myers myers = new Myers(original.data, original.size(), changed.data, changed.size());
+        myers.diff(0, original.size(), 0, changed.size());
+        return new SwiftArrayDifference<>(
+                runs(false, original.data, myers.removed), runs(true, changed.data, myers.inserted));
+    }
+
+    /**
+     * Groups the marked indices into blocks of adjacent elements.
+     */
+    private static <E> SwiftArray<Change<E>> runs(boolean insertion, Object[] data, boolean[] marked) {
+        SwiftArray<Change<E>> changes = new SwiftArray<>();
+        int i = 0;
+        while (i < marked.length) {
+            if (!marked[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < marked.length && marked[i])
+                i++;
+            SwiftArray<E> elements = new SwiftArray<>(Arrays.copyOfRange(data, start, i), i - start);
+            changes.append(new Change<>(insertion, start, elements));
+        }
+        return changes;
+    }
+
+    /**
+     * Myers' difference algorithm, in the linear space variant that splits the problem at the middle snake.
+     */
+    private static final class Myers {
+
+        private final Object[] a, b;
+
+        /**
+         * {@code removed[i]} is {@code true} if {@code a[i]} is removed
+         */
+        final boolean[] removed;
+
+        /**
+         * {@code inserted[j]} is {@code true} if {@code b[j]} is inserted
+         */
+        final boolean[] inserted;
+
+        Myers(Object[] a, int aSize, Object[] b, int bSize) {
+            this.a = a;
+            this.b = b;
+            this.removed = new boolean[aSize];
+            this.inserted = new boolean[bSize];
+        }
+
+        /**
+         * Marks the changes between {@code a[aLow..<aHigh]} and {@code b[bLow..<bHigh]}.
+         */
+        void diff(int aLow, int aHigh, int bLow, int bHigh) {
+            // skip the common prefix and suffix
+            while (aLow < aHigh && bLow < bHigh && Objects.equals(a[aLow], b[bLow])) {
+                aLow++;
+                bLow++;
+            }
+            while (aLow < aHigh && bLow < bHigh && Objects.equals(a[aHigh - 1], b[bHigh - 1])) {
+                aHigh--;
+                bHigh--;
+            }
+
+            if (aLow == aHigh) {
+                Arrays.fill(inserted, bLow, bHigh, true);
+            } else if (bLow == bHigh) {
+                Arrays.fill(removed, aLow, aHigh, true);
+            } else {
+                bisect(aLow, aHigh, bLow, bHigh);
+            }
+        }
+
+        /**
+         * Finds the middle snake of the two ranges by running the algorithm forward and backward at the same time,
+         * then splits the problem there.
+         */
+        private void bisect(int aLow, int aHigh, int bLow, int bHigh) {
+            final int n = aHigh - aLow, m = bHigh - bLow;
+            final int maxD = (n + m + 1) / 2;
+            final int offset = maxD + 1;
+            final int length = 2 * maxD + 2;
+            int[] forward = new int[length], backward = new int[length];
+            Arrays.fill(forward, -1);
+            Arrays.fill(backward, -1);
+            forward[offset + 1] = 0;
+            backward[offset + 1] = 0;
+            final int delta = n - m;
+            // if the total number of characters is odd, the forward path overlaps the backward path first
+            final boolean front = (delta & 1) != 0;
+            int kForwardStart = 0, kForwardEnd = 0, kBackwardStart = 0, kBackwardEnd = 0;
+
+            for (int d = 0; d < maxD; d++) {
+                for (int k = -d + kForwardStart; k <= d - kForwardEnd; k += 2) {
+                    int index = offset + k;
+                    int x = k == -d || (k != d && forward[index - 1] < forward[index + 1])
+                            ? forward[index + 1] : forward[index - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m && Objects.equals(a[aLow + x], b[bLow + y])) {
+                        x++;
+                        y++;
+                    }
+                    forward[index] = x;
+                    if (x > n) {
+                        kForwardEnd += 2;
+                    } else if (y > m) {
+                        kForwardStart += 2;
+                    } else if (front) {
+                        int backwardIndex = offset + delta - k;
+                        if (backwardIndex >= 0 && backwardIndex < length && backward[backwardIndex] != -1
+                                && x >= n - backward[backwardIndex]) {
+                            split(aLow, aHigh, bLow, bHigh, x, y);
+                            return;
+                        }
+                    }
+                }
+
+                for (int k = -d + kBackwardStart; k <= d - kBackwardEnd; k += 2) {
+                    int index = offset + k;
+                    int x = k == -d || (k != d && backward[index - 1] < backward[index + 1])
+                            ? backward[index + 1] : backward[index - 1] + 1;
+                    int y = x - k;
+                    while (x < n && y < m && Objects.equals(a[aHigh - x - 1], b[bHigh - y - 1])) {
+                        x++;
+                        y++;
+                    }
+                    backward[index] = x;
+                    if (x > n) {
+                        kBackwardEnd += 2;
+                    } else if (y > m) {
+                        kBackwardStart += 2;
+                    } else if (!front) {
+                        int forwardIndex = offset + delta - k;
+                        if (forwardIndex >= 0 && forwardIndex < length && forward[forwardIndex] != -1) {
+                            int forwardX = forward[forwardIndex];
+                            int forwardY = offset + forwardX - forwardIndex;
+                            if (forwardX >= n - x) {
+                                split(aLow, aHigh, bLow, bHigh, forwardX, forwardY);
+                                return;
+                            }
+                        }
+                    }
+                }
+            }
+
+            // no common element at all
+            Arrays.fill(removed, aLow, aHigh, true);
+            Arrays.fill(inserted, bLow, bHigh, true);
+        }
+
+        private void split(int aLow, int aHigh, int bLow, int bHigh, int x, int y) {
+            diff(aLow, aLow + x, bLow, bLow + y);
+            diff(aLow + x, aHigh, bLow + y, bHigh);
+        }
+    }
+}
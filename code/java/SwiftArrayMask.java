@@ -0,0 +1,232 @@
+/*
+ *   SwiftArrayMask.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.Arrays;
+
+/**
+ * A bitmap that selects elements of an array by index.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * The bit of every index is stored in {@code long} words, 64 indices per word. Masks made from several predicates
+ * over the same array can be combined before any element is copied, so a query with many conditions only builds its
+ * final result.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     MyArray<Integer> myArray = new MyArray<>(new Integer[]{1,2,3,4,5,6});
+ *     SwiftArrayMask even = myArray.filterMask(x -> x % 2 == 0);
+ *     SwiftArrayMask large = myArray.filterMask(x -> x > 3);
+ *     myArray.gather(even.and(large)); // [4,6]
+ * </pre>
+ */
+public class SwiftArrayMask {
+
+    private final long[] words;
+
+    /**
+     * the number of indices covered by the mask
+     */
+    private final int size;
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs a mask with no selected index.
+     *
+     * @param size the number of indices covered by the mask
+     * @throws RuntimeException if size is negative
+     */
+    public SwiftArrayMask(int size) {
+        Utility.isAlwaysNonNegative(size);
+        this.size = size;
+        this.words = new long[wordCount(size)];
+    }
+
+    SwiftArrayMask(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+    private static int wordCount(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * Returns the number of indices covered by the mask.
+     *
+     * @return the number of indices covered by the mask
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * check if the index is selected
+     *
+     * @param index the index to check
+     * @return {@code true} if the index is selected
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public boolean get(int index) {
+        Utility.checkIndex(index, size);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * select or deselect the index
+     *
+     * @param index    the index to change
+     * @param selected {@code true} to select the index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void set(int index, boolean selected) {
+        Utility.checkIndex(index, size);
+        if (selected)
+            words[index >>> 6] |= 1L << index;
+        else
+            words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Returns the number of selected indices.
+     *
+     * @return the number of selected indices
+     */
+    public int count() {
+        int count = 0;
+        for (long word : words)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * Returns the selected indices in ascending order.
+     *
+     * @return the selection vector of the mask
+     */
+    public int[] indices() {
+        int[] indices = new int[count()];
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                indices[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the words of the bitmap, bit {@code i % 64} of word {@code i / 64} is the bit of index {@code i}.
+     *
+     * @return a copy of the words of the bitmap
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    long word(int index) {
+        return words[index];
+    }
+
+    int wordCount() {
+        return words.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(indices());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SwiftArrayMask)) return false;
+        SwiftArrayMask mask = (SwiftArrayMask) o;
+        return size == mask.size && Arrays.equals(words, mask.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+
+    /* -------------------------------------------------Combining--------------------------------------------------- */
+
+    /**
+     * Returns a mask that selects the indices selected by both masks.
+     *
+     * @param other the other mask
+     * @return the intersection of the masks
+     * @throws IllegalArgumentException if the masks have different sizes
+     */
+    public SwiftArrayMask and(SwiftArrayMask other) {
+        checkSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++)
+            result[i] = words[i] & other.words[i];
+        return new SwiftArrayMask(result, size);
+    }
+
+    /**
+     * Returns a mask that selects the indices selected by either mask.
+     *
+     * @param other the other mask
+     * @return the union of the masks
+     * @throws IllegalArgumentException if the masks have different sizes
+     */
+    public SwiftArrayMask or(SwiftArrayMask other) {
+        checkSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++)
+            result[i] = words[i] | other.words[i];
+        return new SwiftArrayMask(result, size);
+    }
+
+    /**
+     * Returns a mask that selects the indices selected by this mask but not by {@code other}.
+     *
+     * @param other the other mask
+     * @return the difference of the masks
+     * @throws IllegalArgumentException if the masks have different sizes
+     */
+    public SwiftArrayMask andNot(SwiftArrayMask other) {
+        checkSize(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++)
+            result[i] = words[i] & ~other.words[i];
+        return new SwiftArrayMask(result, size);
+    }
+
+    /**
+     * Returns a mask that selects the indices not selected by this mask.
+     *
+     * @return the complement of the mask
+     */
+    public SwiftArrayMask not() {
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++)
+            result[i] = ~words[i];
+        // the bits after the last index must stay clear
+        if ((size & 63) != 0)
+            result[result.length - 1] &= (1L << size) - 1;
+        return new SwiftArrayMask(result, size);
+    }
+
+    private void checkSize(SwiftArrayMask other) {
+        if (size != other.size)
+            throw new IllegalArgumentException("Mask sizes differ: " + size + " and " + other.size);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *   SwiftArrayParser.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a JSON array from a {@code Reader} one element at a time.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * The input is read in chunks, and only the text of the current element is held in memory, so the size of the input
+ * is not limited by the heap. Elements can be any JSON value, the text of each one is handed to an
+ * {@link ElementParser}.
+ * </body>
+ *
+ * @param <E> Element of the array
+ */
+class SwiftArrayParser<E> {
+
+    private static final int chunk_size = 8192;
+
+    private final Reader reader;
+
+    private final ElementParser<E> parser;
+
+    private final char[] buffer = new char[chunk_size];
+
+    private int position, limit;
+
+    /**
+     * the number of characters consumed before the buffer, for error messages
+     */
+    private long offset;
+
+    /**
+     * the text of the current element, reused for every element
+     */
+    private final StringBuilder token = new StringBuilder();
+
+    SwiftArrayParser(Reader reader, ElementParser<E> parser) {
+        this.reader = reader;
+        this.parser = parser;
+    }
+
+    /**
+     * Reads the whole array into {@code array}.
+     */
+    SwiftArray<E> parse(SwiftArray<E> array) throws IOException {
+        expect(skipWhitespace(), '[');
+        int c = skipWhitespace();
+        if (c != ']') {
+            while (true) {
+                token.setLength(0);
+                c = readValue(c);
+                if (token.length() == 0)
+                    throw malformed("an element");
+                array.append(parser.parse(token));
+                if (isWhitespace(c))
+                    c = skipWhitespace();
+                if (c == ']') break;
+                expect(c, ',');
+                c = skipWhitespace();
+            }
+        }
+        if (skipWhitespace() != -1)
+            throw malformed("the end of the input");
+        return array;
+    }
+
+    /**
+     * Reads one value starting with {@code c} into {@code token}.
+     *
+     * @return the first character after the value
+     */
+    private int readValue(int c) throws IOException {
+        if (c == '"') {
+            readString();
+            return read();
+        }
+        if (c == '[' || c == '{') {
+            int depth = 0;
+            do {
+                if (c == -1)
+                    throw malformed("a closing bracket");
+                if (c == '"') {
+                    readString();
+                } else {
+                    if (c == '[' || c == '{') depth++;
+                    else if (c == ']' || c == '}') depth--;
+                    token.append((char) c);
+                }
+                if (depth == 0) break;
+                c = read();
+            } while (true);
+            return read();
+        }
+        while (c != -1 && c != ',' && c != ']' && !isWhitespace(c)) {
+            token.append((char) c);
+            c = read();
+        }
+        return c;
+    }
+
+    /**
+     * Reads a string literal whose opening quote was just read, including both quotes.
+     */
+    private void readString() throws IOException {
+        token.append('"');
+        int c;
+        while ((c = read()) != '"') {
+            if (c == -1)
+                throw malformed("a closing quote");
+            token.append((char) c);
+            if (c == '\\') {
+                c = read();
+                if (c == -1)
+                    throw malformed("an escaped character");
+                token.append((char) c);
+            }
+        }
+        token.append('"');
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            offset += limit;
+            limit = reader.read(buffer, 0, chunk_size);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (isWhitespace(c));
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private void expect(int c, char expected) {
+        if (c != expected)
+            throw malformed("'" + expected + "'");
+    }
+
+    private IllegalArgumentException malformed(String expected) {
+        return new IllegalArgumentException("Malformed array, expected " + expected + " at character "
+                                            + (offset + position - 1));
+    }
+}
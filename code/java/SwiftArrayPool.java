@@ -0,0 +1,206 @@
+/*
+ *   SwiftArrayPool.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * A pool that recycles the backing arrays of short-lived {@code SwiftArray} instances.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * Backing arrays are grouped by size class, every class holds arrays whose length is a power of two. Arrays handed
+ * back to the pool are cleared before they are stored, so a recycled array never keeps its old elements alive.
+ * The pool is not thread-safe, keep one pool per thread.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     SwiftArrayPool pool = new SwiftArrayPool();
+ *     try (SwiftArrayPool.Scope scope = pool.scope()) {
+ *         SwiftArray<Integer> doubled = myArray.map(x -> x * 2, pool);
+ *         SwiftArray<Integer> even = doubled.filter(x -> x % 4 == 0, pool);
+ *         // use doubled and even, both are recycled when the scope closes
+ *     }
+ * </pre>
+ */
+public class SwiftArrayPool {
+
+    /**
+     * Default number of arrays kept for each size class.
+     */
+    private static final int default_arrays_per_class = 16;
+
+    /**
+     * Default maximum capacity of an array kept in the pool.
+     */
+    private static final int default_max_capacity = 1 << 20;
+
+    /**
+     * the smallest size class, the same as the default capacity of {@code SwiftArray}
+     */
+    private static final int min_class = 3;
+
+    /**
+     * the largest size class, {@code 2^31} elements would not fit in a Java array
+     */
+    private static final int max_class = 30;
+
+    private final ArrayDeque<Object[]>[] classes;
+
+    private final int arraysPerClass;
+
+    private final int maxClass;
+
+    /**
+     * the innermost open scope, or null if there is no open scope
+     */
+    private Scope currentScope;
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs a pool keeping at most 16 arrays per size class, and arrays up to {@code 2^20} elements.
+     */
+    public SwiftArrayPool() {
+        this(default_arrays_per_class, default_max_capacity);
+    }
+
+    /**
+     * Constructs a pool with the specified limits.
+     *
+     * @param arraysPerClass the maximum number of arrays kept for each size class
+     * @param maxCapacity    the maximum capacity of an array kept in the pool, larger arrays are left to the GC.
+     *                       Capacities above {@code 2^30} are treated as {@code 2^30}.
+     * @throws RuntimeException if any of the limits is negative
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SwiftArrayPool(int arraysPerClass, int maxCapacity) {
+        Utility.isAlwaysNonNegative(arraysPerClass);
+        Utility.isAlwaysNonNegative(maxCapacity);
+        this.arraysPerClass = arraysPerClass;
+        this.maxClass = Math.min(max_class, Math.max(min_class, sizeClass(maxCapacity)));
+        this.classes = new ArrayDeque[maxClass + 1];
+        for (int i = min_class; i <= maxClass; i++)
+            classes[i] = new ArrayDeque<>();
+    }
+
+    /* ------------------------------------------------Size Classes------------------------------------------------- */
+
+    /**
+     * Returns the size class of {@code capacity}, which is the smallest {@code n} that {@code 2^n >= capacity}.
+     *
+     * @param capacity the capacity required
+     * @return the size class of {@code capacity}
+     */
+    static int sizeClass(int capacity) {
+        return capacity <= 1 << min_class ? min_class : 32 - Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    /* ------------------------------------------------Basic Action------------------------------------------------- */
+
+    /**
+     * Returns a cleared backing array whose length is at least {@code minCapacity}.
+     *
+     * @param minCapacity the minimum length of the array
+     * @return a recycled array if the pool has one, else a new array
+     * @throws RuntimeException if {@code minCapacity} is negative
+     */
+    public Object[] acquire(int minCapacity) {
+        Utility.isAlwaysNonNegative(minCapacity);
+        int sizeClass = sizeClass(minCapacity);
+        if (sizeClass > maxClass)
+            return new Object[minCapacity];
+        Object[] recycled = classes[sizeClass].pollLast();
+        return recycled != null ? recycled : new Object[1 << sizeClass];
+    }
+
+    /**
+     * Hands {@code data} back to the pool. The array is cleared before it is stored, the caller must not use the
+     * array after this call.
+     *
+     * @param data the array to recycle
+     */
+    public void release(Object[] data) {
+        int length = data.length;
+        // only arrays of a size class are kept, anything else was not acquired from a pool
+        if (Integer.bitCount(length) != 1 || length < 1 << min_class) return;
+        int sizeClass = sizeClass(length);
+        if (sizeClass > maxClass || classes[sizeClass].size() >= arraysPerClass) return;
+        Arrays.fill(data, null);
+        classes[sizeClass].addLast(data);
+    }
+
+    /**
+     * Constructs an empty array with at least {@code minCapacity} capacity, backed by a pooled array. If a scope is
+     * open, the array is recycled when the scope closes.
+     *
+     * @param minCapacity the minimum capacity of the array
+     * @param <E>         Element of the array
+     * @return an empty array backed by a pooled array
+     */
+    public <E> SwiftArray<E> newArray(int minCapacity) {
+        SwiftArray<E> array = new SwiftArray<>(acquire(minCapacity), 0);
+        if (currentScope != null)
+            currentScope.arrays.append(array);
+        return array;
+    }
+
+    /**
+     * Hands the backing array of {@code array} back to the pool, {@code array} is left empty and can still be used.
+     *
+     * @param array the array to recycle
+     */
+    public void release(SwiftArray<?> array) {
+        release(array.detach());
+    }
+
+    /**
+     * Opens a scope. Every array made by {@link #newArray(int)} until the scope closes is recycled by
+     * {@link Scope#close()}. Scopes can be nested, the inner scope must be closed first.
+     *
+     * @return the new scope
+     */
+    public Scope scope() {
+        currentScope = new Scope(currentScope);
+        return currentScope;
+    }
+
+    /* ---------------------------------------------------Scope----------------------------------------------------- */
+
+    /**
+     * A region of code whose pooled arrays are all recycled at once. Copy anything that should outlive the scope
+     * with {@link SwiftArray#copy()} before closing it.
+     */
+    public class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private final SwiftArray<SwiftArray<?>> arrays = new SwiftArray<>();
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * Recycles every array made in this scope and restores the enclosing scope.
+         *
+         * @throws IllegalStateException if this is not the innermost open scope
+         */
+        @Override
+        public void close() {
+            if (currentScope != this)
+                throw new IllegalStateException("Only the innermost scope can be closed.");
+            for (SwiftArray<?> array : arrays)
+                release(array);
+            currentScope = parent;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ *   SwiftDictionary.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An ordered collection of key-value pairs, like {@code OrderedDictionary} of the {@code Swift Collections} package.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * Pairs keep the order their keys were inserted in and can be read by index. Keys and values are stored in two
+ * parallel {@code SwiftArray}s next to a compact {@code int[]} hash table of the key indices, so lookups are O(1)
+ * without an entry object per pair.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     SwiftDictionary<String, Integer> dictionary = new SwiftDictionary<>();
+ *     dictionary.updateValue(1, "one");
+ *     dictionary.updateValue(2, "two");
+ *     dictionary.valueForKey("two"); // 2
+ *     dictionary.keyAt(0); // one
+ * </pre>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class SwiftDictionary<K, V> implements UtilityGettable<SwiftDictionary.Element<K, V>>,
+        Iterable<SwiftDictionary.Element<K, V>> {
+
+    /**
+     * A key-value pair of a {@code SwiftDictionary}, copied out of the dictionary.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    public static final class Element<K, V> {
+
+        public final K key;
+
+        public final V value;
+
+        Element(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return key + ":" + value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Element)) return false;
+            Element<?, ?> element = (Element<?, ?>) o;
+            return Objects.equals(key, element.key) && Objects.equals(value, element.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, value);
+        }
+    }
+
+    private final SwiftHashIndex<K> index;
+
+    private final SwiftArray<V> values;
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs an empty dictionary.
+     */
+    public SwiftDictionary() {
+        index = new SwiftHashIndex<>(0);
+        values = new SwiftArray<>();
+    }
+
+    /**
+     * Constructs a dictionary from parallel arrays of keys and values, sized for all pairs up front. If a key repeats,
+     * the pair keeps the position of its first occurrence and the value of its last one.
+     *
+     * @param keys   the keys of the pairs
+     * @param values the values of the pairs
+     * @throws IllegalArgumentException if the arrays have different sizes
+     */
+    public SwiftDictionary(SwiftArray<K> keys, SwiftArray<V> values) {
+        if (keys.size() != values.size())
+            throw new IllegalArgumentException("Got " + keys.size() + " keys and " + values.size() + " values");
+        this.index = new SwiftHashIndex<>(keys.size());
+        this.values = new SwiftArray<>(keys.size());
+        for (int i = 0; i < keys.size(); i++)
+            updateValue(values.data(i), keys.data(i));
+    }
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * Returns the number of pairs in this dictionary.
+     *
+     * @return the number of pairs in this dictionary
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns {@code true} if this dictionary contains no pairs.
+     *
+     * @return {@code true} if this dictionary contains no pairs
+     */
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+
+    /**
+     * Returns the pair at the specified position in this dictionary.
+     *
+     * @param i index of the pair to return
+     * @return the pair at the specified position in this dictionary
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Override
+    public Element<K, V> get(int i) {
+        return new Element<>(index.keys.get(i), values.data(i));
+    }
+
+    /**
+     * Returns the key at the specified position in this dictionary.
+     *
+     * @param i index of the key to return
+     * @return the key at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public K keyAt(int i) {
+        return index.keys.get(i);
+    }
+
+    /**
+     * Returns the value at the specified position in this dictionary.
+     *
+     * @param i index of the value to return
+     * @return the value at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public V valueAt(int i) {
+        return values.get(i);
+    }
+
+    @Override
+    public Range range() {
+        return index.keys.range();
+    }
+
+    /**
+     * make a copy of the keys
+     *
+     * @return the keys in insertion order
+     */
+    public SwiftArray<K> keys() {
+        return index.keys.copy();
+    }
+
+    /**
+     * make a copy of the values
+     *
+     * @return the values in the order of their keys
+     */
+    public SwiftArray<V> values() {
+        return values.copy();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            string.append(index.keys.data(i)).append(":").append(values.data(i));
+            if (i < size() - 1) {
+                string.append(",");
+            }
+        }
+        string.append("]");
+        return string.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SwiftDictionary)) return false;
+        SwiftDictionary<?, ?> dictionary = (SwiftDictionary<?, ?>) o;
+        return Utility.equals(this, dictionary);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size();
+        for (int i = 0; i < size(); i++)
+            result = 31 * (31 * result + Objects.hashCode(index.keys.data(i))) + Objects.hashCode(values.data(i));
+        return result;
+    }
+
+    /* ------------------------------------------------Finding Keys------------------------------------------------- */
+
+    /**
+     * Returns the value of {@code key}.
+     *
+     * @param key the key to look up
+     * @return the value of the key, or null if there is no such key
+     */
+    public V valueForKey(K key) {
+        int i = index.find(key);
+        return i != -1 ? values.data(i) : null;
+    }
+
+    /**
+     * check if the dictionary contains key
+     *
+     * @param key the key to check
+     * @return {@code true} if the dictionary contains the key, {@code false} if not contains
+     */
+    public boolean containsKey(K key) {
+        return index.find(key) != -1;
+    }
+
+    /**
+     * find the index of {@code key}
+     *
+     * @param key the key to find
+     * @return the index of the key, if no such key, return -1
+     */
+    public int indexForKey(K key) {
+        return index.find(key);
+    }
+
+    /* -----------------------------------------------Changing Pairs------------------------------------------------ */
+
+    /**
+     * Updates the value of {@code key}, or appends the pair if there is no such key.
+     *
+     * @param value the new value
+     * @param key   the key to update
+     * @return the old value of the key, or null if the pair was appended
+     */
+    public V updateValue(V value, K key) {
+        int i = index.findOrAppend(key);
+        if (i < 0) {
+            values.append(value);
+            return null;
+        }
+        V old = values.data(i);
+        values.set(i, value);
+        return old;
+    }
+
+    /**
+     * remove the pair of {@code key}, the pairs after it would be offset one position
+     *
+     * @param key the key to remove
+     * @return the removed value, or null if there is no such key
+     */
+    public V removeValue(K key) {
+        int i = index.find(key);
+        if (i == -1) return null;
+        V old = values.data(i);
+        removeAt(i);
+        return old;
+    }
+
+    /**
+     * remove the pair at the index, the pairs after the index would be offset one position
+     *
+     * @param i index of removed pair
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void removeAt(int i) {
+        index.removeAt(i, false);
+        values.remove(i);
+    }
+
+    /**
+     * remove the pair at the index in O(1), the last pair takes its place
+     *
+     * @param i index of removed pair
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void swapRemoveAt(int i) {
+        index.removeAt(i, true);
+        int last = values.size() - 1;
+        values.set(i, values.data(last));
+        values.removeLast();
+    }
+
+    /**
+     * remove all pairs
+     */
+    public void removeAll() {
+        index.removeAll();
+        values.removeLast(values.size());
+    }
+
+    /* ---------------------------------------------------Iterate--------------------------------------------------- */
+
+    /**
+     * Calls the given closure on each pair in insertion order, without creating an {@link Element} per pair.
+     *
+     * @param consumer A closure that takes a key and its value as parameters.
+     * @throws NullPointerException if the specified action is null
+     */
+    public void forEach(BiConsumer<? super K, ? super V> consumer) {
+        Objects.requireNonNull(consumer);
+        for (int i = 0; i < size(); i++)
+            consumer.accept(index.keys.data(i), values.data(i));
+    }
+
+    /**
+     * Returns an iterator over elements of type {@code T}.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<Element<K, V>> iterator() {
+        return new Iterator<Element<K, V>>() {
+
+            private int currentIndex;
+
+            private final int expectedModCount = index.keys.modCount;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size();
+            }
+
+            @Override
+            public Element<K, V> next() {
+                if (index.keys.modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (hasNext())
+                    return get(currentIndex++);
+                throw new NoSuchElementException();
+            }
+        };
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *   SwiftHashIndex.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An open addressing hash table over keys kept in insertion order.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * The keys live in a {@code SwiftArray}, the table only stores {@code index + 1} of a key, {@code 0} marks an empty
+ * slot. Collisions are resolved by linear probing, and removals shift the following slots back instead of leaving
+ * tombstones. The table is at most half full.
+ * </body>
+ *
+ * @param <K> the type of the keys
+ */
+class SwiftHashIndex<K> {
+
+    private static final int min_table_size = 8;
+
+    final SwiftArray<K> keys;
+
+    /**
+     * the spread hash of every key, in the order of {@code keys}
+     */
+    private int[] hashes;
+
+    private int[] table;
+
+    SwiftHashIndex(int expectedSize) {
+        Utility.isAlwaysNonNegative(expectedSize);
+        keys = new SwiftArray<>(Math.max(expectedSize, 1));
+        hashes = new int[Math.max(expectedSize, 1)];
+        table = new int[tableSize(expectedSize)];
+    }
+
+    private static int tableSize(int size) {
+        int tableSize = min_table_size;
+        while (tableSize < size * 2)
+            tableSize *= 2;
+        return tableSize;
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * Returns the index of {@code key}, or -1 if there is no such key.
+     */
+    int find(Object key) {
+        int hash = hash(key), mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (hashes[index] == hash && Objects.equals(keys.data(index), key))
+                return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of {@code key}, appending it first if there is no such key.
+     *
+     * @return the index of the key, or {@code -(index + 1)} if the key was appended
+     */
+    int findOrAppend(K key) {
+        int hash = hash(key), mask = table.length - 1;
+        int slot = hash & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (hashes[index] == hash && Objects.equals(keys.data(index), key))
+                return index;
+        }
+        int index = keys.size();
+        keys.append(key);
+        if (index == hashes.length)
+            hashes = Arrays.copyOf(hashes, index * 2);
+        hashes[index] = hash;
+        table[slot] = index + 1;
+        if (keys.size() * 2 > table.length)
+            rehash(table.length * 2);
+        return -(index + 1);
+    }
+
+    /**
+     * Removes the key at {@code index}. If {@code swap} is {@code true} the last key takes its place, which is O(1),
+     * otherwise the following keys are shifted and the insertion order is kept.
+     */
+    void removeAt(int index, boolean swap) {
+        Utility.checkIndex(index, keys.size());
+        clearSlot(slotOf(index));
+        int last = keys.size() - 1;
+        if (swap) {
+            if (index != last) {
+                table[slotOf(last)] = index + 1;
+                keys.set(index, keys.data(last));
+                hashes[index] = hashes[last];
+            }
+            keys.removeLast();
+        } else {
+            keys.remove(index);
+            System.arraycopy(hashes, index + 1, hashes, index, last - index);
+            for (int slot = 0; slot < table.length; slot++)
+                if (table[slot] > index + 1)
+                    table[slot]--;
+        }
+    }
+
+    /**
+     * Returns the slot that points to {@code index}.
+     */
+    private int slotOf(int index) {
+        int mask = table.length - 1;
+        int slot = hashes[index] & mask;
+        while (table[slot] != index + 1)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Empties {@code slot} and moves the following entries of the probe sequence back, so lookups never stop early.
+     */
+    private void clearSlot(int slot) {
+        int mask = table.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (table[next] == 0) break;
+            int home = hashes[table[next] - 1] & mask;
+            // the entry may move back unless its home lies cyclically in (slot, next]
+            boolean stays = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+            if (!stays) {
+                table[slot] = table[next];
+                slot = next;
+            }
+        }
+        table[slot] = 0;
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int index = 0; index < keys.size(); index++) {
+            int slot = hashes[index] & mask;
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+            table[slot] = index + 1;
+        }
+    }
+
+    void removeAll() {
+        keys.removeLast(keys.size());
+        Arrays.fill(table, 0);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *   SwiftSet.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * An ordered collection of unique elements, like {@code OrderedSet} of the {@code Swift Collections} package.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * Elements keep the order they were inserted in and can be read by index. They are stored once, in a
+ * {@code SwiftArray}, next to a compact {@code int[]} hash table of their indices, so membership checks are O(1).
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     SwiftSet<String> set = new SwiftSet<>(new SwiftArray<>(new String[]{"b","a","b"})); // [b,a]
+ *     set.append("c"); // true
+ *     set.get(2); // c
+ *     set.contains("a"); // true
+ * </pre>
+ *
+ * @param <E> Element of the set
+ */
+public class SwiftSet<E> implements UtilityGettable<E>, Iterable<E> {
+
+    private final SwiftHashIndex<E> index;
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs an empty set.
+     */
+    public SwiftSet() {
+        index = new SwiftHashIndex<>(0);
+    }
+
+    /**
+     * Constructs a set containing the elements of {@code array}, in the order of their first occurrence. The table is
+     * sized for the whole array up front.
+     *
+     * @param array the array whose elements are to be placed into this set
+     * @throws NullPointerException if the specified array is null
+     */
+    public SwiftSet(SwiftArray<E> array) {
+        index = new SwiftHashIndex<>(array.size());
+        for (E element : array)
+            index.findOrAppend(element);
+    }
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+
+    /**
+     * Returns the element at the specified position in this set.
+     *
+     * @param i index of the element to return
+     * @return the element at the specified position in this set
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Override
+    public E get(int i) {
+        return index.keys.get(i);
+    }
+
+    @Override
+    public Range range() {
+        return index.keys.range();
+    }
+
+    /**
+     * make a copy of the elements as an array
+     *
+     * @return a {@code SwiftArray} with the elements in insertion order
+     */
+    public SwiftArray<E> toSwiftArray() {
+        return index.keys.copy();
+    }
+
+    @Override
+    public String toString() {
+        return index.keys.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SwiftSet)) return false;
+        SwiftSet<?> set = (SwiftSet<?>) o;
+        return Utility.equals(this, set);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size();
+        for (int i = 0; i < size(); i++)
+            result = 31 * result + Objects.hashCode(index.keys.data(i));
+        return result;
+    }
+
+    /* -----------------------------------------------Finding Elements---------------------------------------------- */
+
+    /**
+     * check if the set contains element
+     *
+     * @param element the element to check
+     * @return {@code true} if the set contains the element, {@code false} if not contains
+     */
+    public boolean contains(E element) {
+        return index.find(element) != -1;
+    }
+
+    /**
+     * find the index of {@code element}
+     *
+     * @param element the element to find
+     * @return the index of the element, if no such element, return -1
+     */
+    public int firstIndexOf(E element) {
+        return index.find(element);
+    }
+
+    /* ----------------------------------------------Changing Elements---------------------------------------------- */
+
+    /**
+     * Appends the element to the end of the set, if the set does not contain it yet.
+     *
+     * @param element element to be appended to this set
+     * @return {@code true} if the element was appended
+     */
+    public boolean append(E element) {
+        return index.findOrAppend(element) < 0;
+    }
+
+    /**
+     * remove the element, the elements after it would be offset one position
+     *
+     * @param element the element to remove
+     * @return {@code true} if the element was removed
+     */
+    public boolean remove(E element) {
+        int i = index.find(element);
+        if (i == -1) return false;
+        index.removeAt(i, false);
+        return true;
+    }
+
+    /**
+     * remove the element at the index, the elements after the index would be offset one position
+     *
+     * @param i index of removed element
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void removeAt(int i) {
+        index.removeAt(i, false);
+    }
+
+    /**
+     * remove the element at the index in O(1), the last element takes its place
+     *
+     * @param i index of removed element
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void swapRemoveAt(int i) {
+        index.removeAt(i, true);
+    }
+
+    /**
+     * remove all elements
+     */
+    public void removeAll() {
+        index.removeAll();
+    }
+
+    /* ---------------------------------------------------Iterate--------------------------------------------------- */
+
+    /**
+     * Returns an iterator over elements of type {@code T}.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return index.keys.iterator();
+    }
+}
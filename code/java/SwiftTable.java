@@ -0,0 +1,853 @@
+/*
+ *   SwiftTable.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.*;
+
+/**
+ * A table that stores every field of its rows in a column of its own.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * {@code int}, {@code long} and {@code double} fields are kept in primitive arrays, any other field in a
+ * {@code SwiftArray}. A scan over one field only reads that column. Adding or removing a row changes all columns
+ * together, and the column-wise {@code filter} and {@code sortedRows} return row indices, which {@link #select(int[])}
+ * turns back into a table.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     SwiftTable table = new SwiftTable();
+ *     SwiftTable.IntColumn age = table.addIntColumn("age");
+ *     SwiftTable.ObjectColumn<String> name = table.addObjectColumn("name");
+ *     table.appendRow(30, "Amy");
+ *     table.appendRow(25, "Bob");
+ *     age.sum(); // 55
+ *     table.select(age.sortedRows()); // rows ordered by age
+ * </pre>
+ */
+public class SwiftTable {
+
+    /**
+     * Default initial capacity of a primitive column.
+     */
+    private static final int default_capacity = 8;
+
+    private final SwiftArray<String> names = new SwiftArray<>();
+
+    private final SwiftArray<Column> columns = new SwiftArray<>();
+
+    private int rowCount;
+
+    /* -------------------------------------------------Basic Action------------------------------------------------ */
+
+    /**
+     * Returns the number of rows in this table.
+     *
+     * @return the number of rows in this table
+     */
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of columns in this table.
+     *
+     * @return the number of columns in this table
+     */
+    public int columnCount() {
+        return columns.size();
+    }
+
+    /**
+     * Returns the column with the specified name.
+     *
+     * @param name the name of the column
+     * @return the column
+     * @throws IllegalArgumentException if there is no column with the name
+     */
+    public Column column(String name) {
+        int index = names.firstIndexOf(name);
+        if (index == -1)
+            throw new IllegalArgumentException("No column named " + name);
+        return columns.get(index);
+    }
+
+    /**
+     * Returns the name of the column at the specified position.
+     *
+     * @param index index of the column
+     * @return the name of the column
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public String columnName(int index) {
+        return names.get(index);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder("[");
+        for (int row = 0; row < rowCount; row++) {
+            string.append("[");
+            for (int i = 0; i < columns.size(); i++) {
+                string.append(columns.get(i).value(row));
+                if (i < columns.size() - 1) {
+                    string.append(",");
+                }
+            }
+            string.append("]");
+            if (row < rowCount - 1) {
+                string.append(",");
+            }
+        }
+        string.append("]");
+        return string.toString();
+    }
+
+    /* -----------------------------------------------Adding Columns------------------------------------------------ */
+
+    /**
+     * add a column of {@code int} values, existing rows get {@code 0}
+     *
+     * @param name the name of the column
+     * @return the new column
+     * @throws IllegalArgumentException if there is already a column with the name
+     */
+    public IntColumn addIntColumn(String name) {
+        return addColumn(name, new IntColumn());
+    }
+
+    /**
+     * add a column of {@code long} values, existing rows get {@code 0}
+     *
+     * @param name the name of the column
+     * @return the new column
+     * @throws IllegalArgumentException if there is already a column with the name
+     */
+    public LongColumn addLongColumn(String name) {
+        return addColumn(name, new LongColumn());
+    }
+
+    /**
+     * add a column of {@code double} values, existing rows get {@code 0}
+     *
+     * @param name the name of the column
+     * @return the new column
+     * @throws IllegalArgumentException if there is already a column with the name
+     */
+    public DoubleColumn addDoubleColumn(String name) {
+        return addColumn(name, new DoubleColumn());
+    }
+
+    /**
+     * add a column of objects, existing rows get {@code null}
+     *
+     * @param name the name of the column
+     * @param <E>  the type of the values
+     * @return the new column
+     * @throws IllegalArgumentException if there is already a column with the name
+     */
+    public <E> ObjectColumn<E> addObjectColumn(String name) {
+        return addColumn(name, new ObjectColumn<>());
+    }
+
+    private <C extends Column> C addColumn(String name, C column) {
+        Objects.requireNonNull(name);
+        if (names.contains(name))
+            throw new IllegalArgumentException("Duplicate column " + name);
+        for (int row = 0; row < rowCount; row++)
+            column.appendValue(null);
+        names.append(name);
+        columns.append(column);
+        return column;
+    }
+
+    /* ------------------------------------------------Changing Rows------------------------------------------------ */
+
+    /**
+     * Appends a row to the end of this table.
+     *
+     * @param values the values of the row, one for each column in the order the columns were added
+     * @throws IllegalArgumentException if the number of values is not the number of columns
+     * @throws ClassCastException       if a value does not match the type of its column
+     */
+    public void appendRow(Object... values) {
+        checkRow(values);
+        for (int i = 0; i < values.length; i++)
+            columns.get(i).appendValue(values[i]);
+        rowCount++;
+    }
+
+    /**
+     * insert a row at {@code index}, the rows after the index would be offset one position
+     *
+     * @param index  index of new row
+     * @param values the values of the row, one for each column in the order the columns were added
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     * @throws IllegalArgumentException  if the number of values is not the number of columns
+     * @throws ClassCastException        if a value does not match the type of its column
+     */
+    public void insertRow(int index, Object... values) {
+        Utility.checkIndex(index, rowCount + 1);
+        checkRow(values);
+        for (int i = 0; i < values.length; i++)
+            columns.get(i).insertValue(index, values[i]);
+        rowCount++;
+    }
+
+    /**
+     * remove the row at the index
+     *
+     * @param index index of removed row
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void removeRow(int index) {
+        Utility.checkIndex(index, rowCount);
+        for (Column column : columns)
+            column.remove(index);
+        rowCount--;
+    }
+
+    /**
+     * Returns a new table with the specified rows, in the order of {@code rows}.
+     *
+     * @param rows indices of the rows, usually returned by {@code filter} or {@code sortedRows} of a column
+     * @return a table with the same columns and the selected rows
+     * @throws IndexOutOfBoundsException if any index is out of bounds
+     */
+    public SwiftTable select(int[] rows) {
+        for (int row : rows)
+            Utility.checkIndex(row, rowCount);
+        SwiftTable table = new SwiftTable();
+        for (int i = 0; i < columns.size(); i++) {
+            table.names.append(names.get(i));
+            table.columns.append(columns.get(i).gather(rows));
+        }
+        table.rowCount = rows.length;
+        return table;
+    }
+
+    private void checkRow(Object[] values) {
+        if (values.length != columns.size())
+            throw new IllegalArgumentException("Expected " + columns.size() + " values, got " + values.length);
+        // every value is checked before any column grows, so a bad value leaves the table unchanged
+        for (int i = 0; i < values.length; i++)
+            columns.get(i).check(values[i]);
+    }
+
+    /* ---------------------------------------------------Sorting--------------------------------------------------- */
+
+    /**
+     * compares two rows by the value of one column
+     */
+    private interface RowComparator {
+        int compare(int x, int y);
+    }
+
+    /**
+     * Returns the row indices {@code 0..<size} sorted by {@code comparator}, rows with equal values keep their order.
+     */
+    private static int[] sortRows(int size, RowComparator comparator) {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++)
+            rows[i] = i;
+        int[] buffer = new int[size];
+        // bottom-up merge sort over the row indices, the values are never moved or boxed
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size - width; low += 2 * width) {
+                int mid = low + width, high = Math.min(low + 2 * width, size);
+                if (comparator.compare(rows[mid - 1], rows[mid]) <= 0) continue;
+                System.arraycopy(rows, low, buffer, low, high - low);
+                int i = low, j = mid, write = low;
+                while (i < mid && j < high)
+                    rows[write++] = comparator.compare(buffer[j], buffer[i]) < 0 ? buffer[j++] : buffer[i++];
+                while (i < mid)
+                    rows[write++] = buffer[i++];
+                while (j < high)
+                    rows[write++] = buffer[j++];
+            }
+        }
+        return rows;
+    }
+
+    private static int newCapacity(int capacity) {
+        return Math.max(capacity * 2, default_capacity);
+    }
+
+    /* ---------------------------------------------------Columns--------------------------------------------------- */
+
+    /**
+     * A column of a {@code SwiftTable}. The rows of a column are changed through its table.
+     */
+    public static abstract class Column {
+
+        Column() {
+        }
+
+        /**
+         * Returns the number of values in this column.
+         *
+         * @return the number of values in this column
+         */
+        public abstract int size();
+
+        /**
+         * Returns the value at the specified row, boxed if the column is primitive.
+         *
+         * @param row index of the row
+         * @return the value at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public abstract Object value(int row);
+
+        /**
+         * Throws {@code ClassCastException} if {@code value} cannot be stored in this column.
+         */
+        abstract void check(Object value);
+
+        abstract void appendValue(Object value);
+
+        abstract void insertValue(int row, Object value);
+
+        abstract void remove(int row);
+
+        abstract Column gather(int[] rows);
+    }
+
+    /**
+     * A column of {@code int} values.
+     */
+    public static class IntColumn extends Column {
+
+        private int[] values = new int[default_capacity];
+
+        private int size;
+
+        IntColumn() {
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object value(int row) {
+            return get(row);
+        }
+
+        /**
+         * Returns the value at the specified row.
+         *
+         * @param row index of the row
+         * @return the value at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public int get(int row) {
+            Utility.checkIndex(row, size);
+            return values[row];
+        }
+
+        /**
+         * Replaces the value at the specified row.
+         *
+         * @param row   index of the row
+         * @param value value to be stored at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public void set(int row, int value) {
+            Utility.checkIndex(row, size);
+            values[row] = value;
+        }
+
+        /**
+         * Returns the rows whose value matches {@code predicate}, in ascending order.
+         *
+         * @param predicate the matched condition
+         * @return the indices of the matched rows
+         * @throws NullPointerException if the specified action is null
+         */
+        public int[] filter(IntPredicate predicate) {
+            Objects.requireNonNull(predicate);
+            int[] rows = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++)
+                if (predicate.test(values[i]))
+                    rows[count++] = i;
+            return Arrays.copyOf(rows, count);
+        }
+
+        /**
+         * Returns the result of combining the values of the column using the given closure.
+         *
+         * @param initialResult  the value to use as the initial accumulating value
+         * @param binaryOperator A closure that updates the accumulating value with a value of the column.
+         * @return The final accumulated value. If the column is empty, the result is initialResult.
+         * @throws NullPointerException if the specified action is null
+         */
+        public int reduce(final int initialResult, IntBinaryOperator binaryOperator) {
+            Objects.requireNonNull(binaryOperator);
+            int ret = initialResult;
+            for (int i = 0; i < size; i++)
+                ret = binaryOperator.applyAsInt(ret, values[i]);
+            return ret;
+        }
+
+        /**
+         * Returns the sum of the values of the column.
+         *
+         * @return the sum of the values, or 0 if the column is empty
+         */
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++)
+                sum += values[i];
+            return sum;
+        }
+
+        /**
+         * Returns the row indices ordered by the value of this column, rows with equal values keep their order.
+         *
+         * @return a permutation of the rows
+         */
+        public int[] sortedRows() {
+            final int[] values = this.values;
+            return sortRows(size, (x, y) -> Integer.compare(values[x], values[y]));
+        }
+
+        @Override
+        void check(Object value) {
+            if (value != null && !(value instanceof Integer))
+                throw new ClassCastException(value.getClass().getName() + " cannot be stored in a column of int");
+        }
+
+        @Override
+        void appendValue(Object value) {
+            insertValue(size, value);
+        }
+
+        @Override
+        void insertValue(int row, Object value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, newCapacity(size));
+            System.arraycopy(values, row, values, row + 1, size - row);
+            values[row] = value == null ? 0 : (Integer) value;
+            size++;
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(values, row + 1, values, row, size - row - 1);
+            size--;
+        }
+
+        @Override
+        Column gather(int[] rows) {
+            IntColumn column = new IntColumn();
+            column.values = new int[Math.max(rows.length, default_capacity)];
+            for (int i = 0; i < rows.length; i++)
+                column.values[i] = values[rows[i]];
+            column.size = rows.length;
+            return column;
+        }
+    }
+
+    /**
+     * A column of {@code long} values.
+     */
+    public static class LongColumn extends Column {
+
+        private long[] values = new long[default_capacity];
+
+        private int size;
+
+        LongColumn() {
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object value(int row) {
+            return get(row);
+        }
+
+        /**
+         * Returns the value at the specified row.
+         *
+         * @param row index of the row
+         * @return the value at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public long get(int row) {
+            Utility.checkIndex(row, size);
+            return values[row];
+        }
+
+        /**
+         * Replaces the value at the specified row.
+         *
+         * @param row   index of the row
+         * @param value value to be stored at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public void set(int row, long value) {
+            Utility.checkIndex(row, size);
+            values[row] = value;
+        }
+
+        /**
+         * Returns the rows whose value matches {@code predicate}, in ascending order.
+         *
+         * @param predicate the matched condition
+         * @return the indices of the matched rows
+         * @throws NullPointerException if the specified action is null
+         */
+        public int[] filter(LongPredicate predicate) {
+            Objects.requireNonNull(predicate);
+            int[] rows = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++)
+                if (predicate.test(values[i]))
+                    rows[count++] = i;
+            return Arrays.copyOf(rows, count);
+        }
+
+        /**
+         * Returns the result of combining the values of the column using the given closure.
+         *
+         * @param initialResult  the value to use as the initial accumulating value
+         * @param binaryOperator A closure that updates the accumulating value with a value of the column.
+         * @return The final accumulated value. If the column is empty, the result is initialResult.
+         * @throws NullPointerException if the specified action is null
+         */
+        public long reduce(final long initialResult, LongBinaryOperator binaryOperator) {
+            Objects.requireNonNull(binaryOperator);
+            long ret = initialResult;
+            for (int i = 0; i < size; i++)
+                ret = binaryOperator.applyAsLong(ret, values[i]);
+            return ret;
+        }
+
+        /**
+         * Returns the sum of the values of the column.
+         *
+         * @return the sum of the values, or 0 if the column is empty
+         */
+        public long sum() {
+            long sum = 0;
+            for (int i = 0; i < size; i++)
+                sum += values[i];
+            return sum;
+        }
+
+        /**
+         * Returns the row indices ordered by the value of this column, rows with equal values keep their order.
+         *
+         * @return a permutation of the rows
+         */
+        public int[] sortedRows() {
+            final long[] values = this.values;
+            return sortRows(size, (x, y) -> Long.compare(values[x], values[y]));
+        }
+
+        @Override
+        void check(Object value) {
+            if (value != null && !(value instanceof Long))
+                throw new ClassCastException(value.getClass().getName() + " cannot be stored in a column of long");
+        }
+
+        @Override
+        void appendValue(Object value) {
+            insertValue(size, value);
+        }
+
+        @Override
+        void insertValue(int row, Object value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, newCapacity(size));
+            System.arraycopy(values, row, values, row + 1, size - row);
+            values[row] = value == null ? 0 : (Long) value;
+            size++;
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(values, row + 1, values, row, size - row - 1);
+            size--;
+        }
+
+        @Override
+        Column gather(int[] rows) {
+            LongColumn column = new LongColumn();
+            column.values = new long[Math.max(rows.length, default_capacity)];
+            for (int i = 0; i < rows.length; i++)
+                column.values[i] = values[rows[i]];
+            column.size = rows.length;
+            return column;
+        }
+    }
+
+    /**
+     * A column of {@code double} values.
+     */
+    public static class DoubleColumn extends Column {
+
+        private double[] values = new double[default_capacity];
+
+        private int size;
+
+        DoubleColumn() {
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Object value(int row) {
+            return get(row);
+        }
+
+        /**
+         * Returns the value at the specified row.
+         *
+         * @param row index of the row
+         * @return the value at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public double get(int row) {
+            Utility.checkIndex(row, size);
+            return values[row];
+        }
+
+        /**
+         * Replaces the value at the specified row.
+         *
+         * @param row   index of the row
+         * @param value value to be stored at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public void set(int row, double value) {
+            Utility.checkIndex(row, size);
+            values[row] = value;
+        }
+
+        /**
+         * Returns the rows whose value matches {@code predicate}, in ascending order.
+         *
+         * @param predicate the matched condition
+         * @return the indices of the matched rows
+         * @throws NullPointerException if the specified action is null
+         */
+        public int[] filter(DoublePredicate predicate) {
+            Objects.requireNonNull(predicate);
+            int[] rows = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++)
+                if (predicate.test(values[i]))
+                    rows[count++] = i;
+            return Arrays.copyOf(rows, count);
+        }
+
+        /**
+         * Returns the result of combining the values of the column using the given closure.
+         *
+         * @param initialResult  the value to use as the initial accumulating value
+         * @param binaryOperator A closure that updates the accumulating value with a value of the column.
+         * @return The final accumulated value. If the column is empty, the result is initialResult.
+         * @throws NullPointerException if the specified action is null
+         */
+        public double reduce(final double initialResult, DoubleBinaryOperator binaryOperator) {
+            Objects.requireNonNull(binaryOperator);
+            double ret = initialResult;
+            for (int i = 0; i < size; i++)
+                ret = binaryOperator.applyAsDouble(ret, values[i]);
+            return ret;
+        }
+
+        /**
+         * Returns the sum of the values of the column.
+         *
+         * @return the sum of the values, or 0 if the column is empty
+         */
+        public double sum() {
+            double sum = 0;
+            for (int i = 0; i < size; i++)
+                sum += values[i];
+            return sum;
+        }
+
+        /**
+         * Returns the row indices ordered by the value of this column, rows with equal values keep their order.
+         *
+         * @return a permutation of the rows
+         */
+        public int[] sortedRows() {
+            final double[] values = this.values;
+            return sortRows(size, (x, y) -> Double.compare(values[x], values[y]));
+        }
+
+        @Override
+        void check(Object value) {
+            if (value != null && !(value instanceof Double))
+                throw new ClassCastException(value.getClass().getName() + " cannot be stored in a column of double");
+        }
+
+        @Override
+        void appendValue(Object value) {
+            insertValue(size, value);
+        }
+
+        @Override
+        void insertValue(int row, Object value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, newCapacity(size));
+            System.arraycopy(values, row, values, row + 1, size - row);
+            values[row] = value == null ? 0 : (Double) value;
+            size++;
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(values, row + 1, values, row, size - row - 1);
+            size--;
+        }
+
+        @Override
+        Column gather(int[] rows) {
+            DoubleColumn column = new DoubleColumn();
+            column.values = new double[Math.max(rows.length, default_capacity)];
+            for (int i = 0; i < rows.length; i++)
+                column.values[i] = values[rows[i]];
+            column.size = rows.length;
+            return column;
+        }
+    }
+
+    /**
+     * A column of objects, stored in a {@code SwiftArray}.
+     *
+     * @param <E> the type of the values
+     */
+    public static class ObjectColumn<E> extends Column {
+
+        private final SwiftArray<E> values;
+
+        ObjectColumn() {
+            this(new SwiftArray<>());
+        }
+
+        private ObjectColumn(SwiftArray<E> values) {
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Object value(int row) {
+            return get(row);
+        }
+
+        /**
+         * Returns the value at the specified row.
+         *
+         * @param row index of the row
+         * @return the value at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public E get(int row) {
+            return values.get(row);
+        }
+
+        /**
+         * Replaces the value at the specified row.
+         *
+         * @param row   index of the row
+         * @param value value to be stored at the row
+         * @throws IndexOutOfBoundsException if the index is out of bounds
+         */
+        public void set(int row, E value) {
+            values.set(row, value);
+        }
+
+        /**
+         * Returns the rows whose value matches {@code predicate}, in ascending order.
+         *
+         * @param predicate the matched condition
+         * @return the indices of the matched rows
+         * @throws NullPointerException if the specified action is null
+         */
+        public int[] filter(Predicate<E> predicate) {
+            return values.filterMask(predicate).indices();
+        }
+
+        /**
+         * Returns the result of combining the values of the column using the given closure.
+         *
+         * @param initialResult  the value to use as the initial accumulating value
+         * @param binaryOperator A closure that updates the accumulating value with a value of the column.
+         * @return The final accumulated value. If the column is empty, the result is initialResult.
+         * @throws NullPointerException if the specified action is null
+         */
+        public E reduce(final E initialResult, BinaryOperator<E> binaryOperator) {
+            return values.reduce(initialResult, binaryOperator);
+        }
+
+        /**
+         * Returns the row indices ordered by the value of this column, rows with equal values keep their order.
+         *
+         * @param comparator the comparator that decides the order of the values
+         * @return a permutation of the rows
+         * @throws NullPointerException if the specified comparator is null
+         */
+        public int[] sortedRows(Comparator<? super E> comparator) {
+            Objects.requireNonNull(comparator);
+            return sortRows(values.size(), (x, y) -> comparator.compare(values.data(x), values.data(y)));
+        }
+
+        @Override
+        void check(Object value) {
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void appendValue(Object value) {
+            values.append((E) value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void insertValue(int row, Object value) {
+            values.insert(row, (E) value);
+        }
+
+        @Override
+        void remove(int row) {
+            values.remove(row);
+        }
+
+        @Override
+        Column gather(int[] rows) {
+            SwiftArray<E> gathered = new SwiftArray<>(rows.length);
+            for (int row : rows)
+                gathered.append(values.data(row));
+            return new ObjectColumn<>(gathered);
+        }
+    }
+}
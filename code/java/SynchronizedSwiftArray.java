@@ -0,0 +1,319 @@
+/*
+ *   SynchronizedSwiftArray.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A thread-safe view of a {@code SwiftArray}.
+ * <h3></h3>
+ * <h3>Overview</h3>
+ * <body>
+ * Reads first run as optimistic reads of a {@link StampedLock}, which take no lock at all, and only fall back to the
+ * shared read lock if a write happened in between. Writes take the exclusive write lock. Read-heavy traffic therefore
+ * runs in parallel instead of queueing on a monitor. After wrapping an array, only access it through the view.
+ * </body>
+ *
+ * <h3>Code Sample</h3>
+ * <pre>
+ *     SynchronizedSwiftArray<Integer> shared = new SynchronizedSwiftArray<>(new SwiftArray<>());
+ *     shared.append(1); // from a writer thread
+ *     shared.contains(1); // from any reader thread
+ *     shared.withReadLock(array -> array.map(x -> x * 2)); // composite read
+ * </pre>
+ *
+ * @param <E> Element of the array
+ */
+public class SynchronizedSwiftArray<E> implements UtilityGettable<E>, Iterable<E> {
+
+    /**
+     * the number of elements an optimistic lookup scans between two validations of its stamp
+     */
+    private static final int scan_chunk_size = 1024;
+
+    private final SwiftArray<E> array;
+
+    private final StampedLock lock = new StampedLock();
+
+    /* -------------------------------------------------Constructors------------------------------------------------ */
+
+    /**
+     * Constructs an empty thread-safe array.
+     */
+    public SynchronizedSwiftArray() {
+        this(new SwiftArray<>());
+    }
+
+    /**
+     * Constructs a thread-safe view of {@code array}.
+     *
+     * @param array the array to guard
+     * @throws NullPointerException if the specified array is null
+     */
+    public SynchronizedSwiftArray(SwiftArray<E> array) {
+        this.array = Objects.requireNonNull(array);
+    }
+
+    /* -----------------------------------------------Reading Elements---------------------------------------------- */
+
+    /**
+     * Returns the number of elements in this array.
+     *
+     * @return the number of elements in this array
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = array.size();
+        if (lock.validate(stamp))
+            return size;
+        stamp = lock.readLock();
+        try {
+            return array.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns {@code true} if this array contains no elements.
+     *
+     * @return {@code true} if this array contains no elements
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Range range() {
+        return new Range(0, size());
+    }
+
+    /**
+     * Returns the element at the specified position in this array.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this array
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        // the fields may be inconsistent until the stamp is validated, so nothing is thrown before that
+        Object[] data = array.data;
+        int size = array.size();
+        Object element = index >= 0 && index < size && index < data.length ? data[index] : null;
+        if (lock.validate(stamp)) {
+            Utility.checkIndex(index, size);
+            return (E) element;
+        }
+        stamp = lock.readLock();
+        try {
+            return array.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * check if the array contains element
+     *
+     * @param element the element to check
+     * @return {@code true} if the array contains the element, {@code false} if not contains
+     */
+    public boolean contains(E element) {
+        return firstIndexOf(element) != -1;
+    }
+
+    /**
+     * find index of first element that is equal to {@code element}
+     *
+     * @param element the element to find
+     * @return the index of the first element of the array, if no such element, return -1
+     */
+    public int firstIndexOf(E element) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] data = array.data;
+        int size = Math.min(array.size(), data.length);
+        // scans in place instead of copying, the stamp is validated after every chunk so a write is noticed early
+        int index = -1;
+        for (int from = 0; index == -1 && from < size && lock.validate(stamp); from += scan_chunk_size) {
+            int to = from + Math.min(scan_chunk_size, size - from);
+            for (int i = from; i < to; i++) {
+                if (Objects.equals(data[i], element)) {
+                    index = i;
+                    break;
+                }
+            }
+        }
+        if (lock.validate(stamp))
+            return index;
+        stamp = lock.readLock();
+        try {
+            return array.firstIndexOf(element);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * make a copy of the elements
+     *
+     * @return a copy of the array at one point in time
+     */
+    public SwiftArray<E> snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        Object[] data = array.data;
+        Object[] copy = Arrays.copyOf(data, Math.min(array.size(), data.length));
+        if (lock.validate(stamp))
+            return new SwiftArray<>(copy, copy.length);
+        stamp = lock.readLock();
+        try {
+            return array.copy();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the result of {@code function} applied to the array under the read lock. Use it for reads that must
+     * see one consistent state, such as {@code map} or {@code reduce}. {@code function} must not modify the array.
+     *
+     * @param function the read to perform
+     * @param <R>      the type of the result
+     * @return the result of {@code function}
+     * @throws NullPointerException if the specified action is null
+     */
+    public <R> R withReadLock(Function<? super SwiftArray<E>, ? extends R> function) {
+        Objects.requireNonNull(function);
+        long stamp = lock.readLock();
+        try {
+            return function.apply(array);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /* -----------------------------------------------Writing Elements---------------------------------------------- */
+
+    /**
+     * Replaces the element at the specified position in this array with the specified element.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            array.set(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends the specified element to the end of this array.
+     *
+     * @param element element to be appended to this array
+     */
+    public void append(E element) {
+        long stamp = lock.writeLock();
+        try {
+            array.append(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * insert a new element at {@code index}, the elements after the index would be offset one position
+     *
+     * @param index   index of new element
+     * @param element the new element to insert
+     */
+    public void insert(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            array.insert(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * remove the element at the index
+     *
+     * @param index index of removed element
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public void remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            array.remove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs {@code consumer} on the array under the write lock, for modifications made of several steps.
+     *
+     * @param consumer the modification to perform
+     * @throws NullPointerException if the specified action is null
+     */
+    public void withWriteLock(Consumer<? super SwiftArray<E>> consumer) {
+        Objects.requireNonNull(consumer);
+        long stamp = lock.writeLock();
+        try {
+            consumer.accept(array);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /* ---------------------------------------------------Iterate--------------------------------------------------- */
+
+    /**
+     * Calls the given closure on each element under the read lock. {@code consumer} must not modify this array.
+     *
+     * @param consumer A closure that takes an element of the sequence as a parameter.
+     * @throws NullPointerException if the specified action is null
+     */
+    @Override
+    public void forEach(Consumer<? super E> consumer) {
+        Objects.requireNonNull(consumer);
+        long stamp = lock.readLock();
+        try {
+            array.forEach(consumer);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the array, later modifications are not seen by the iterator.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+}
@@ -8,12 +8,6 @@
 
 package resources.java;
 
-interface UtilityGettable<E> {
-    Range range();
-
-    E get(int index);
-}
-
 public class Utility {
     /**
      * Checks if the {@code index} is within the bounds of the range from
@@ -0,0 +1,15 @@
+/*
+ *   UtilityGettable.java
+ *   MyJava
+ *   Created by Wendell Wang on 2020.
+ *
+ *   Copyright © 2020 Wendell Wang. All rights reserved.
+ */
+
+package resources.java;
+
+interface UtilityGettable<E> {
+    Range range();
+
+    E get(int index);
+}